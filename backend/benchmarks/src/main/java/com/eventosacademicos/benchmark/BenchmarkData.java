@@ -0,0 +1,61 @@
+package com.eventosacademicos.benchmark;
+
+import com.eventosacademicos.model.Event;
+import com.eventosacademicos.model.EventMember;
+import com.eventosacademicos.model.EventType;
+import com.eventosacademicos.model.User;
+import com.eventosacademicos.model.UserType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entidades montadas em memória para os benchmarks, com ids preenchidos como se viessem do banco.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    private BenchmarkData() {}
+
+    public static User user(long id, UserType userType) {
+        User user = new User("usuario" + id, "usuario" + id + "@exemplo.com", "11999990000",
+                "$2a$10$abcdefghijklmnopqrstuv", "MAT" + id, userType);
+        user.setId(id);
+        user.setApproved(true);
+        return user;
+    }
+
+    public static Event event(long id, User organizer, int memberCount) {
+        Event event = new Event("Evento " + id, "Descrição do evento " + id, EventType.PROVA,
+                BASE_DATE.plusHours(id), organizer);
+        event.setId(id);
+        event.setVersion(0L);
+        event.setUpdatedAt(BASE_DATE);
+        for (int i = 0; i < memberCount; i++) {
+            long userId = 1_000 + i;
+            EventMember member = new EventMember(event, user(userId, UserType.ALUNO));
+            member.setId(id * 10_000 + i);
+            event.getMembers().add(member);
+        }
+        return event;
+    }
+
+    public static List<Event> events(int count, int membersPerEvent) {
+        User organizer = user(1, UserType.PROFESSOR);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(event(i + 1, organizer, membersPerEvent));
+        }
+        return events;
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i + 1, UserType.values()[i % UserType.values().length]));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventosacademicos.benchmark;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ponto de entrada do benchmarks.jar. Repassa as opções para o org.openjdk.jmh.Main e,
+ * se nenhum arquivo de resultado for informado (-rff), grava o resultado em JSON em
+ * jmh-results/&lt;versão&gt;-&lt;data&gt;.json para comparação entre versões.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+
+        if (!options.contains("-rff")) {
+            File dir = new File("jmh-results");
+            dir.mkdirs();
+            String version = System.getProperty("benchmark.version", "0.0.1-SNAPSHOT");
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.addAll(List.of("-rf", "json", "-rff", new File(dir, version + "-" + timestamp + ".json").getPath()));
+        }
+
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventosacademicos.benchmark;
+
+import com.eventosacademicos.dto.EventResponseDTO;
+import com.eventosacademicos.dto.UserDTO;
+import com.eventosacademicos.model.Event;
+import com.eventosacademicos.service.EventService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização das listas devolvidas pelos endpoints, com as mesmas opções de data do Spring Boot
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"10"})
+    public int membersPerEvent;
+
+    private ObjectMapper objectMapper;
+    private List<Event> events;
+    private List<EventResponseDTO> eventDTOs;
+    private List<UserDTO> userDTOs;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        events = BenchmarkData.events(size, membersPerEvent);
+        eventDTOs = EventService.toEventResponseDTOs(events);
+        userDTOs = BenchmarkData.users(size).stream().map(UserDTO::fromEntity).toList();
+    }
+
+    @Benchmark
+    public byte[] events() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] eventResponseDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(eventDTOs);
+    }
+
+    @Benchmark
+    public byte[] userDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDTOs);
+    }
+}
@@ -0,0 +1,103 @@
+package com.eventosacademicos.benchmark;
+
+import com.eventosacademicos.dto.EventMemberDTO;
+import com.eventosacademicos.dto.EventResponseDTO;
+import com.eventosacademicos.model.Event;
+import com.eventosacademicos.model.User;
+import com.eventosacademicos.model.UserType;
+import com.eventosacademicos.service.EventService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON contra CBOR e Smile (Accept da API, ver PayloadFormatsConfig) nas listas de Event,
+ * EventResponseDTO e EventMemberDTO: custo de codificar e decodificar. O tamanho de cada
+ * payload é impresso no início de cada fork ("payload ...").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PayloadFormatBenchmark {
+
+    private static final TypeReference<List<EventResponseDTO>> EVENT_DTOS = new TypeReference<>() {};
+    private static final TypeReference<List<EventMemberDTO>> MEMBER_DTOS = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    @Param({"10"})
+    public int membersPerEvent;
+
+    private ObjectMapper mapper;
+    private List<Event> events;
+    private List<EventResponseDTO> eventDTOs;
+    private List<EventMemberDTO> memberDTOs;
+    private byte[] encodedEvents;
+    private byte[] encodedEventDTOs;
+    private byte[] encodedMemberDTOs;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        events = BenchmarkData.events(size, membersPerEvent);
+        eventDTOs = EventService.toEventResponseDTOs(events);
+        // Membros de um evento com "size" participantes, como em /api/events/{id}/members
+        User organizer = BenchmarkData.user(1, UserType.PROFESSOR);
+        memberDTOs = BenchmarkData.event(1, organizer, size).getMembers().stream()
+                .map(EventService::toEventMemberDTO).toList();
+
+        encodedEvents = mapper.writeValueAsBytes(events);
+        encodedEventDTOs = mapper.writeValueAsBytes(eventDTOs);
+        encodedMemberDTOs = mapper.writeValueAsBytes(memberDTOs);
+        System.out.printf("%npayload format=%s size=%d: events=%d bytes, eventResponseDTOs=%d bytes, eventMemberDTOs=%d bytes%n",
+                format, size, encodedEvents.length, encodedEventDTOs.length, encodedMemberDTOs.length);
+    }
+
+    @Benchmark
+    public byte[] encodeEvents() throws IOException {
+        return mapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] encodeEventResponseDTOs() throws IOException {
+        return mapper.writeValueAsBytes(eventDTOs);
+    }
+
+    @Benchmark
+    public byte[] encodeEventMemberDTOs() throws IOException {
+        return mapper.writeValueAsBytes(memberDTOs);
+    }
+
+    // Event não é desserializável (duas back-references em EventMember): o cliente lê como árvore
+    @Benchmark
+    public JsonNode decodeEvents() throws IOException {
+        return mapper.readTree(encodedEvents);
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> decodeEventResponseDTOs() throws IOException {
+        return mapper.readValue(encodedEventDTOs, EVENT_DTOS);
+    }
+
+    @Benchmark
+    public List<EventMemberDTO> decodeEventMemberDTOs() throws IOException {
+        return mapper.readValue(encodedMemberDTOs, MEMBER_DTOS);
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventosacademicos.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Opções no formato --chave=valor das ferramentas de carga
+final class Args {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private Args() {}
+
+    static Args parse(String[] argv) {
+        Args args = new Args();
+        for (String arg : argv) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Opção inválida (use --chave=valor): " + arg);
+            }
+            int eq = arg.indexOf('=');
+            args.values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return args;
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        return values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue;
+    }
+}
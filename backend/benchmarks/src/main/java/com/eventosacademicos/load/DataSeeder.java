@@ -0,0 +1,305 @@
+package com.eventosacademicos.load;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Gera uma massa de dados sintética com distribuições parecidas com as de produção e a grava
+ * por JDBC em lotes, direto nas tabelas (users, events, event_members e user_calendar):
+ *
+ * - 2% de professores, cada um com 20 provas/trabalhos aplicados a uma turma tirada da sua coorte
+ *   de alunos, de modo que cada aluno participa de dezenas de eventos;
+ * - 1% dos alunos organiza uma festa, com tamanho seguindo uma cauda longa;
+ * - algumas festas gigantes com 30% dos alunos cada.
+ *
+ * O tamanho das turmas é ajustado para chegar perto de --memberships. Os ids continuam a partir
+ * dos existentes, e o resumo (usuários, faixas de ids) vai para --summary, lido pelo LoadDriver.
+ * Todos os usuários têm a senha 123456.
+ */
+public class DataSeeder {
+
+    // BCrypt (custo 10) de "123456", o mesmo de test_data.sql
+    static final String PASSWORD_HASH = "$2a$10$/dmn3G08t6FSZYAAn3YJ6OvLwGMrCdSvjpwf6EkhqOfOxRpbOfQW2";
+    static final String PASSWORD = "123456";
+    static final String STUDENT_PREFIX = "carga_aluno";
+    static final String PROFESSOR_PREFIX = "carga_prof";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int EXAMS_PER_PROFESSOR = 20;
+    private static final int GIANT_PARTIES = 5;
+
+    private final Connection connection;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private long firstUserId;
+    private long firstEventId;
+    private long nextEventId;
+    private long nextMemberId;
+    private long memberships;
+
+    DataSeeder(Connection connection, long seed) {
+        this.connection = connection;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = Args.parse(argv);
+        String url = args.get("url", "jdbc:h2:./data/loadtest;AUTO_SERVER=TRUE;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        int users = args.getInt("users", 50_000);
+        long targetMemberships = args.getLong("memberships", 2_000_000);
+
+        try (Connection connection = DriverManager.getConnection(url, args.get("user", "sa"), args.get("password", ""))) {
+            connection.setAutoCommit(false);
+            DataSeeder seeder = new DataSeeder(connection, args.getLong("seed", 42));
+            long start = System.nanoTime();
+            Properties summary = seeder.seed(users, targetMemberships);
+            summary.setProperty("seconds", String.valueOf((System.nanoTime() - start) / 1_000_000_000));
+            try (Writer writer = new FileWriter(args.get("summary", "seed.properties"))) {
+                summary.store(writer, "Gerado por DataSeeder");
+            }
+            System.out.println("Massa gerada: " + summary);
+        }
+    }
+
+    Properties seed(int users, long targetMemberships) throws SQLException {
+        int professors = Math.max(1, users * 2 / 100);
+        int students = Math.max(1, users - professors - 1);
+
+        firstUserId = nextId("users");
+        firstEventId = nextId("events");
+        nextEventId = firstEventId;
+        nextMemberId = nextId("event_members");
+
+        long adminId = firstUserId;
+        long firstProfessorId = adminId + 1;
+        long firstStudentId = firstProfessorId + professors;
+        insertUsers(adminId, professors, students);
+
+        // Festas: gigantes, depois a cauda longa; as turmas completam o total de participações
+        int regularParties = Math.max(1, students / 100);
+        int giantSize = Math.max(1, students * 30 / 100);
+        int[] partySizes = new int[regularParties];
+        long partyMemberships = (long) GIANT_PARTIES * giantSize;
+        for (int rank = 0; rank < regularParties; rank++) {
+            partySizes[rank] = Math.min(students, Math.max(5, (int) (300 / Math.pow(rank + 1, 0.7))));
+            partyMemberships += partySizes[rank];
+        }
+        long exams = (long) professors * EXAMS_PER_PROFESSOR;
+        int classSize = (int) Math.max(5, Math.min(students, (targetMemberships - partyMemberships) / exams));
+        int cohortSize = Math.min(students, classSize * 3);
+
+        try (PreparedStatement events = connection.prepareStatement(
+                     "INSERT INTO events (id, title, description, event_type, date, created_by, version, updated_at) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, 0, ?)");
+             PreparedStatement members = connection.prepareStatement(
+                     "INSERT INTO event_members (id, event_id, user_id) VALUES (?, ?, ?)")) {
+
+            BatchCounter eventBatch = new BatchCounter(events);
+            BatchCounter memberBatch = new BatchCounter(members, eventBatch);
+
+            for (int p = 0; p < professors; p++) {
+                long professorId = firstProfessorId + p;
+                int cohortStart = random.nextInt(students);
+                for (int i = 0; i < EXAMS_PER_PROFESSOR; i++) {
+                    String type = random.nextInt(3) == 0 ? "TRABALHO" : "PROVA";
+                    long eventId = addEvent(eventBatch, type, professorId, weekdayDate());
+                    int offset = cohortStart + random.nextInt(cohortSize - classSize + 1);
+                    for (int k = 0; k < classSize; k++) {
+                        addMember(memberBatch, eventId, firstStudentId + (offset + k) % students);
+                    }
+                }
+            }
+            memberBatch.flush();
+            long lastExamId = nextEventId - 1;
+
+            long firstPartyId = nextEventId;
+            List<Long> giantIds = new ArrayList<>();
+            for (int g = 0; g < GIANT_PARTIES; g++) {
+                long organizer = firstStudentId + random.nextInt(students);
+                long eventId = addEvent(eventBatch, "FESTA", organizer, partyDate());
+                giantIds.add(eventId);
+                double probability = (double) giantSize / students;
+                for (int s = 0; s < students; s++) {
+                    if (random.nextDouble() < probability) {
+                        addMember(memberBatch, eventId, firstStudentId + s);
+                    }
+                }
+            }
+            for (int rank = 0; rank < regularParties; rank++) {
+                long organizer = firstStudentId + random.nextInt(students);
+                long eventId = addEvent(eventBatch, "FESTA", organizer, partyDate());
+                int start = random.nextInt(students);
+                for (int k = 0; k < partySizes[rank]; k++) {
+                    addMember(memberBatch, eventId, firstStudentId + (start + k) % students);
+                }
+            }
+            memberBatch.flush();
+            connection.commit();
+
+            long calendarEntries = fillUserCalendar();
+            restartIdentities();
+            connection.commit();
+
+            Properties summary = new Properties();
+            summary.setProperty("password", PASSWORD);
+            summary.setProperty("students.prefix", STUDENT_PREFIX);
+            summary.setProperty("students.count", String.valueOf(students));
+            summary.setProperty("professors.prefix", PROFESSOR_PREFIX);
+            summary.setProperty("professors.count", String.valueOf(professors));
+            summary.setProperty("exams.firstId", String.valueOf(firstEventId));
+            summary.setProperty("exams.lastId", String.valueOf(lastExamId));
+            summary.setProperty("parties.firstId", String.valueOf(firstPartyId));
+            summary.setProperty("parties.lastId", String.valueOf(nextEventId - 1));
+            summary.setProperty("parties.giantIds", giantIds.toString().replaceAll("[\\[\\] ]", ""));
+            summary.setProperty("classSize", String.valueOf(classSize));
+            summary.setProperty("events", String.valueOf(nextEventId - firstEventId));
+            summary.setProperty("memberships", String.valueOf(memberships));
+            summary.setProperty("calendarEntries", String.valueOf(calendarEntries));
+            return summary;
+        }
+    }
+
+    private void insertUsers(long adminId, int professors, int students) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO users (id, username, email, phone, password, registration_number, user_type, approved, " +
+                "token_epoch, calendar_version) VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, 0, 0)")) {
+            BatchCounter batch = new BatchCounter(statement);
+            addUser(batch, adminId, "carga_admin", "CADM", "ADMINISTRADOR");
+            for (int i = 0; i < professors; i++) {
+                addUser(batch, adminId + 1 + i, PROFESSOR_PREFIX + i, "CP" + i, "PROFESSOR");
+            }
+            for (int i = 0; i < students; i++) {
+                addUser(batch, adminId + 1 + professors + i, STUDENT_PREFIX + i, "CA" + i, "ALUNO");
+            }
+            batch.flush();
+        }
+        connection.commit();
+    }
+
+    private void addUser(BatchCounter batch, long id, String username, String registration, String type) throws SQLException {
+        PreparedStatement statement = batch.statement;
+        statement.setLong(1, id);
+        statement.setString(2, username);
+        statement.setString(3, username + "@carga.exemplo.com");
+        statement.setString(4, "11900000000");
+        statement.setString(5, PASSWORD_HASH);
+        statement.setString(6, registration);
+        statement.setString(7, type);
+        batch.add();
+    }
+
+    private long addEvent(BatchCounter batch, String type, long organizerId, LocalDateTime date) throws SQLException {
+        long id = nextEventId++;
+        PreparedStatement statement = batch.statement;
+        statement.setLong(1, id);
+        statement.setString(2, (type.equals("FESTA") ? "Festa " : "Avaliação ") + id);
+        statement.setString(3, "Evento gerado para teste de carga");
+        statement.setString(4, type);
+        statement.setTimestamp(5, Timestamp.valueOf(date));
+        statement.setLong(6, organizerId);
+        statement.setTimestamp(7, Timestamp.valueOf(now));
+        batch.add();
+        return id;
+    }
+
+    private void addMember(BatchCounter batch, long eventId, long userId) throws SQLException {
+        PreparedStatement statement = batch.statement;
+        statement.setLong(1, nextMemberId++);
+        statement.setLong(2, eventId);
+        statement.setLong(3, userId);
+        batch.add();
+        memberships++;
+    }
+
+    // Semestre de 60 dias atrás até 120 dias à frente; provas em dias úteis, festas no fim de semana à noite
+    private LocalDateTime weekdayDate() {
+        LocalDate day = now.toLocalDate().minusDays(60).plusDays(random.nextInt(180));
+        while (day.getDayOfWeek().getValue() > 5) {
+            day = day.plusDays(1);
+        }
+        return day.atTime(8 + random.nextInt(12), random.nextBoolean() ? 0 : 30);
+    }
+
+    private LocalDateTime partyDate() {
+        LocalDate day = now.toLocalDate().minusDays(60).plusDays(random.nextInt(180));
+        while (day.getDayOfWeek().getValue() < 6) {
+            day = day.plusDays(1);
+        }
+        return day.atTime(22, 0);
+    }
+
+    // Mesmo preenchimento da migração V4, restrito aos eventos gerados agora
+    private long fillUserCalendar() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO user_calendar (user_id, event_id, event_date) " +
+                "SELECT e.created_by, e.id, e.date FROM events e WHERE e.id >= ? " +
+                "UNION SELECT em.user_id, e.id, e.date FROM event_members em JOIN events e ON e.id = em.event_id " +
+                "WHERE e.id >= ?")) {
+            statement.setLong(1, firstEventId);
+            statement.setLong(2, firstEventId);
+            return statement.executeUpdate();
+        }
+    }
+
+    // O MySQL ajusta o AUTO_INCREMENT sozinho após ids explícitos; o H2 não
+    private void restartIdentities() throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().equals("H2")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("users", "events", "event_members")) {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+            }
+        }
+    }
+
+    private long nextId(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // Executa o lote a cada BATCH_SIZE linhas, depois do lote da tabela referenciada (chave estrangeira)
+    private static final class BatchCounter {
+        final PreparedStatement statement;
+        final BatchCounter parent;
+        int pending;
+
+        BatchCounter(PreparedStatement statement) {
+            this(statement, null);
+        }
+
+        BatchCounter(PreparedStatement statement, BatchCounter parent) {
+            this.statement = statement;
+            this.parent = parent;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+    }
+}
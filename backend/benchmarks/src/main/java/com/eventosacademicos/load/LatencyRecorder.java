@@ -0,0 +1,58 @@
+package com.eventosacademicos.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Latências em microssegundos de uma thread, por endpoint; as threads são combinadas no fim
+final class LatencyRecorder {
+
+    static final class Samples {
+        long[] micros = new long[1024];
+        int size;
+        long errors;
+
+        void add(long value) {
+            if (size == micros.length) {
+                micros = Arrays.copyOf(micros, size * 2);
+            }
+            micros[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.micros[i]);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(micros, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        Samples s = samples.computeIfAbsent(endpoint, k -> new Samples());
+        s.add(nanos / 1000);
+        if (!ok) {
+            s.errors++;
+        }
+    }
+
+    Map<String, Samples> samples() {
+        return samples;
+    }
+
+    // Percentil pelo método do posto mais próximo
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
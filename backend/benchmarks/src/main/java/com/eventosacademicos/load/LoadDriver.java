@@ -0,0 +1,397 @@
+package com.eventosacademicos.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Gerador de carga contra a aplicação em execução. Cada thread simula usuários da massa do
+ * DataSeeder em sessões: login, carga do calendário e uma sequência de ações sorteadas pelo
+ * --mix (calendário, detalhe de evento, entrar e sair de festas; como só o organizador ou um
+ * administrador altera membros, a entrada e a saída são feitas com o token do carga_admin).
+ *
+ * As amostras do aquecimento (--warmup) são descartadas; no fim imprime, por endpoint, vazão,
+ * p50/p99/p999 e máximo, e grava o mesmo relatório em JSON se --out for informado. Com
+ * --jvm-metrics=true também acompanha, a cada segundo, o pico de heap e de threads da aplicação
+ * em /actuator/prometheus (autenticado como carga_admin). Com --login-only=true as sessões só fazem login (vazão do BCrypt);
+ * respostas 503 de sobrecarga são contadas à parte, em &lt;endpoint&gt;-recusado, e a sessão espera
+ * o Retry-After antes de continuar.
+ */
+public class LoadDriver {
+
+    private static final String[] ACTIONS = {"calendar", "detail", "join", "leave"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final String baseUrl;
+    private final Properties seed;
+    private final int[] mixWeights;
+    private final int sessionLength;
+    private final int calendarDays;
+    private final boolean loginOnly;
+    // Token do carga_admin: membros só são alterados pelo organizador ou por um administrador
+    private volatile String adminToken;
+
+    LoadDriver(String baseUrl, Properties seed, int[] mixWeights, int sessionLength, int calendarDays, boolean loginOnly) {
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.mixWeights = mixWeights;
+        this.sessionLength = sessionLength;
+        this.calendarDays = calendarDays;
+        this.loginOnly = loginOnly;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = Args.parse(argv);
+        Properties seed = new Properties();
+        try (Reader reader = new FileReader(args.get("seed", "seed.properties"))) {
+            seed.load(reader);
+        }
+        int threads = args.getInt("threads", 16);
+        int durationSeconds = args.getInt("duration", 60);
+        int warmupSeconds = args.getInt("warmup", 10);
+
+        LoadDriver driver = new LoadDriver(args.get("base-url", "http://localhost:8080"), seed,
+                parseMix(args.get("mix", "calendar=50,detail=30,join=10,leave=10")),
+                args.getInt("session", 20), args.getInt("calendar-days", 30),
+                Boolean.parseBoolean(args.get("login-only", "false")));
+
+        JvmSampler sampler = Boolean.parseBoolean(args.get("jvm-metrics", "false")) ? driver.new JvmSampler() : null;
+        if (sampler != null) {
+            sampler.start();
+        }
+        Map<String, Object> report = driver.run(threads, warmupSeconds, durationSeconds);
+        if (sampler != null) {
+            sampler.interrupt();
+            sampler.join();
+            report.put("jvm", sampler.peaks());
+        }
+        printReport(report);
+
+        String out = args.get("out", null);
+        if (out != null) {
+            driver.mapper.writerWithDefaultPrettyPrinter().writeValue(new File(out), report);
+        }
+    }
+
+    static int[] parseMix(String mix) {
+        int[] weights = new int[ACTIONS.length];
+        for (String part : mix.split(",")) {
+            String[] kv = part.split("=");
+            int index = Arrays.asList(ACTIONS).indexOf(kv[0].trim());
+            if (index < 0 || kv.length != 2) {
+                throw new IllegalArgumentException("Mix inválido: " + part);
+            }
+            weights[index] = Integer.parseInt(kv[1].trim());
+        }
+        return weights;
+    }
+
+    Map<String, Object> run(int threads, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        long measureStart = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = measureStart + durationSeconds * 1_000_000_000L;
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            Thread worker = new Thread(() -> new Session(recorder, measureStart, end).loop(), "carga-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Map<String, LatencyRecorder.Samples> merged = new LinkedHashMap<>();
+        for (LatencyRecorder recorder : recorders) {
+            recorder.samples().forEach((endpoint, s) ->
+                    merged.computeIfAbsent(endpoint, k -> new LatencyRecorder.Samples()).addAll(s));
+        }
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        merged.forEach((endpoint, s) -> {
+            long[] sorted = s.sorted();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", sorted.length);
+            stats.put("errors", s.errors);
+            stats.put("throughputPerSecond", (double) sorted.length / durationSeconds);
+            stats.put("p50Ms", LatencyRecorder.percentile(sorted, 50) / 1000.0);
+            stats.put("p99Ms", LatencyRecorder.percentile(sorted, 99) / 1000.0);
+            stats.put("p999Ms", LatencyRecorder.percentile(sorted, 99.9) / 1000.0);
+            stats.put("maxMs", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+            endpoints.put(endpoint, stats);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", baseUrl);
+        report.put("threads", threads);
+        report.put("durationSeconds", durationSeconds);
+        report.put("warmupSeconds", warmupSeconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    static void printReport(Map<String, Object> report) {
+        if (report.containsKey("jvm")) {
+            System.out.println("JVM (picos): " + report.get("jvm"));
+        }
+        System.out.printf("%-10s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req", "erros", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        ((Map<String, Map<String, Object>>) report.get("endpoints")).forEach((endpoint, s) ->
+                System.out.printf("%-10s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                        s.get("requests"), s.get("errors"), s.get("throughputPerSecond"),
+                        s.get("p50Ms"), s.get("p99Ms"), s.get("p999Ms"), s.get("maxMs")));
+    }
+
+    private String adminToken() throws Exception {
+        String token = adminToken;
+        if (token == null) {
+            String body = mapper.writeValueAsString(Map.of("username", "carga_admin", "password", seed.getProperty("password")));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login de carga_admin falhou: " + response.statusCode());
+            }
+            token = mapper.readTree(response.body()).get("token").asText();
+            adminToken = token;
+        }
+        return token;
+    }
+
+    // Picos de memória e threads da aplicação, lidos do endpoint do Prometheus a cada segundo
+    private final class JvmSampler extends Thread {
+        private final Map<String, Double> peaks = new LinkedHashMap<>();
+
+        JvmSampler() {
+            super("carga-jvm");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            HttpRequest request = null;
+            while (!isInterrupted()) {
+                try {
+                    // O endpoint exige ADMINISTRADOR: entra com o administrador da massa e renova o token se expirar
+                    if (request == null) {
+                        request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+                                .header("Authorization", "Bearer " + adminToken()).GET().build();
+                    }
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 401 || response.statusCode() == 403) {
+                        request = null;
+                        adminToken = null;
+                        throw new IllegalStateException("Token recusado: " + response.statusCode());
+                    }
+                    Map<String, Double> current = new HashMap<>();
+                    for (String line : response.body().split("\n")) {
+                        if (line.startsWith("jvm_memory_used_bytes")) {
+                            String key = line.contains("area=\"heap\"") ? "heapMb" : "nonHeapMb";
+                            current.merge(key, value(line) / (1024 * 1024), Double::sum);
+                        } else if (line.startsWith("jvm_threads_live_threads")) {
+                            current.put("platformThreads", value(line));
+                        } else if (line.startsWith("app_threads_virtual")) {
+                            current.put("virtualThreads", value(line));
+                        }
+                    }
+                    synchronized (peaks) {
+                        current.forEach((k, v) -> peaks.merge(k, v, Math::max));
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    // Sem o actuator ou com a aplicação saturada: tenta de novo no próximo segundo
+                }
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        Map<String, Double> peaks() {
+            synchronized (peaks) {
+                return new LinkedHashMap<>(peaks);
+            }
+        }
+
+        private double value(String line) {
+            return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+        }
+    }
+
+    // Sessões consecutivas de usuários sorteados, executadas por uma thread
+    private final class Session {
+        private final LatencyRecorder recorder;
+        private final long measureStart;
+        private final long end;
+        private final Random random = new Random();
+
+        private String token;
+        private long userId;
+        private final List<Long> calendarIds = new ArrayList<>();
+        private final Deque<Long> joined = new ArrayDeque<>();
+
+        Session(LatencyRecorder recorder, long measureStart, long end) {
+            this.recorder = recorder;
+            this.measureStart = measureStart;
+            this.end = end;
+        }
+
+        void loop() {
+            while (System.nanoTime() < end) {
+                try {
+                    if (!login() || loginOnly) {
+                        continue;
+                    }
+                    calendar();
+                    for (int i = 0; i < sessionLength && System.nanoTime() < end; i++) {
+                        switch (pickAction()) {
+                            case "calendar" -> calendar();
+                            case "detail" -> detail();
+                            case "join" -> join();
+                            default -> leave();
+                        }
+                    }
+                    // Sai das festas em que entrou para a massa não crescer ao longo do teste
+                    while (!joined.isEmpty() && System.nanoTime() < end) {
+                        leave();
+                    }
+                } catch (Exception e) {
+                    record("falha", 0, false);
+                }
+            }
+        }
+
+        private String pickAction() {
+            int total = Arrays.stream(mixWeights).sum();
+            int r = random.nextInt(total);
+            for (int i = 0; i < mixWeights.length; i++) {
+                r -= mixWeights[i];
+                if (r < 0) {
+                    return ACTIONS[i];
+                }
+            }
+            return ACTIONS[0];
+        }
+
+        private boolean login() throws Exception {
+            // 10% das sessões são de professores
+            String username = random.nextInt(10) == 0
+                    ? seed.getProperty("professors.prefix") + random.nextInt(intProperty("professors.count"))
+                    : seed.getProperty("students.prefix") + random.nextInt(intProperty("students.count"));
+            String body = mapper.writeValueAsString(Map.of("username", username, "password", seed.getProperty("password")));
+            HttpResponse<String> response = send("login", HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            if (response.statusCode() != 200) {
+                return false;
+            }
+            JsonNode json = mapper.readTree(response.body());
+            token = json.get("token").asText();
+            userId = json.get("id").asLong();
+            joined.clear();
+            return true;
+        }
+
+        private void calendar() throws Exception {
+            LocalDateTime from = LocalDateTime.now().withNano(0).minusDays(7);
+            String query = "?from=" + from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    + "&to=" + from.plusDays(7 + calendarDays).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            HttpResponse<String> response = send("calendar", authorized("/api/events" + query).GET());
+            if (response.statusCode() == 200) {
+                calendarIds.clear();
+                for (JsonNode event : mapper.readTree(response.body())) {
+                    calendarIds.add(event.get("id").asLong());
+                }
+            }
+        }
+
+        private void detail() throws Exception {
+            long id = calendarIds.isEmpty() ? randomEvent("exams") : calendarIds.get(random.nextInt(calendarIds.size()));
+            send("detail", authorized("/api/events/" + id).GET());
+        }
+
+        private void join() throws Exception {
+            long id = randomEvent("parties");
+            HttpResponse<String> response = send("join",
+                    asAdmin("/api/events/" + id + "/members/" + userId).POST(HttpRequest.BodyPublishers.noBody()));
+            if (response.statusCode() == 200) {
+                joined.push(id);
+            }
+        }
+
+        private void leave() throws Exception {
+            if (joined.isEmpty()) {
+                join();
+                return;
+            }
+            long id = joined.pop();
+            send("leave", asAdmin("/api/events/" + id + "/members/" + userId).DELETE());
+        }
+
+        private long randomEvent(String prefix) {
+            long first = Long.parseLong(seed.getProperty(prefix + ".firstId"));
+            long last = Long.parseLong(seed.getProperty(prefix + ".lastId"));
+            return first + (long) (random.nextDouble() * (last - first + 1));
+        }
+
+        private int intProperty(String key) {
+            return Integer.parseInt(seed.getProperty(key));
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token);
+        }
+
+        // Entrar e sair de festas: o administrador altera os membros em nome do usuário da sessão
+        private HttpRequest.Builder asAdmin(String path) throws Exception {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + adminToken());
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws Exception {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            // Recusa por sobrecarga (503) é resposta esperada sob saturação: medida à parte, sem contar como erro
+            if (response.statusCode() == 503) {
+                record(endpoint + "-recusado", elapsed, true);
+                // Como um cliente bem comportado, espera o Retry-After antes de tentar de novo
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(retryAfter * 1000);
+                return response;
+            }
+            // Entrar numa festa da qual já é membro devolve 400 e não conta como erro
+            boolean ok = response.statusCode() < 400 || (endpoint.equals("join") && response.statusCode() == 400);
+            record(endpoint, elapsed, ok);
+            return response;
+        }
+
+        private void record(String endpoint, long nanos, boolean ok) {
+            if (System.nanoTime() >= measureStart) {
+                recorder.record(endpoint, nanos, ok);
+            }
+        }
+    }
+}
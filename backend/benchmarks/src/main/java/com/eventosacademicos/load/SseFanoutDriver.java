@@ -0,0 +1,243 @@
+package com.eventosacademicos.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.FileReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede a latência de fan-out do canal SSE (/api/events/stream): conecta --subscribers alunos da
+ * massa do DataSeeder, garante que todos são membros do evento (--event, por padrão a primeira
+ * festa gigante) e o administrador altera o título do evento --updates vezes. Para cada alteração
+ * mede o tempo entre o envio do PUT e a chegada do EVENT_UPDATED em cada conexão.
+ *
+ * As conexões são lidas de forma assíncrona pelo HttpClient, sem uma thread por conexão.
+ */
+public class SseFanoutDriver {
+
+    private static final String TITLE_PREFIX = "Fanout ";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+
+    SseFanoutDriver(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Args args = Args.parse(argv);
+        Properties seed = new Properties();
+        try (Reader reader = new FileReader(args.get("seed", "seed.properties"))) {
+            seed.load(reader);
+        }
+        int subscribers = args.getInt("subscribers", 500);
+        int updates = args.getInt("updates", 20);
+        long intervalMillis = args.getLong("interval-ms", 500);
+        long eventId = args.getLong("event", Long.parseLong(seed.getProperty("parties.giantIds").split(",")[0]));
+
+        SseFanoutDriver driver = new SseFanoutDriver(args.get("base-url", "http://localhost:8080"));
+        driver.run(seed, subscribers, updates, intervalMillis, eventId);
+        System.exit(0);
+    }
+
+    void run(Properties seed, int subscriberCount, int updates, long intervalMillis, long eventId) throws Exception {
+        String password = seed.getProperty("password");
+        int students = Integer.parseInt(seed.getProperty("students.count"));
+        List<Integer> picked = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            picked.add(i);
+        }
+        Collections.shuffle(picked, new Random(7));
+        List<Integer> chosen = picked.subList(0, Math.min(subscriberCount, students));
+
+        // Logins em paralelo; a entrada no evento é feita depois pelo administrador, em lote
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<long[]>> logins = new ArrayList<>();
+        Map<Long, String> tokens = new ConcurrentHashMap<>();
+        for (int index : chosen) {
+            logins.add(pool.submit(() -> {
+                JsonNode auth = login(seed.getProperty("students.prefix") + index, password);
+                long userId = auth.get("id").asLong();
+                tokens.put(userId, auth.get("token").asText());
+                return new long[]{userId};
+            }));
+        }
+        for (Future<long[]> login : logins) {
+            login.get();
+        }
+        pool.shutdown();
+        // Só o organizador ou um administrador altera os membros; quem já era membro é ignorado
+        String adminToken = login("carga_admin", password).get("token").asText();
+        ObjectNode members = mapper.createObjectNode();
+        ArrayNode userIds = members.putArray("userIds");
+        tokens.keySet().forEach(userIds::add);
+        client.send(request("/api/events/" + eventId + "/members", adminToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(members.toString())).build(), HttpResponse.BodyHandlers.discarding());
+        System.out.printf("%d usuários autenticados e membros do evento %d%n", tokens.size(), eventId);
+
+        long[] sentAt = new long[updates + 1];
+        long[][] receivedAt = new long[updates + 1][];
+        for (int i = 1; i <= updates; i++) {
+            receivedAt[i] = new long[tokens.size()];
+        }
+        AtomicLong deliveries = new AtomicLong();
+        // Conexões encerradas antes do fim (erro, expulsão por fila cheia ou timeout)
+        AtomicLong closed = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(tokens.size());
+        int slot = 0;
+        for (String token : tokens.values()) {
+            int connection = slot++;
+            HttpRequest stream = request("/api/events/stream", token).header("Accept", "text/event-stream").GET().build();
+            client.sendAsync(stream, HttpResponse.BodyHandlers.fromLineSubscriber(new Flow.Subscriber<String>() {
+                private String eventName;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(String line) {
+                    long now = System.nanoTime();
+                    if (line.startsWith("event:")) {
+                        eventName = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        if ("ready".equals(eventName)) {
+                            ready.countDown();
+                        } else if ("EVENT_UPDATED".equals(eventName)) {
+                            int sequence = sequenceOf(line);
+                            if (sequence > 0 && sequence <= updates) {
+                                receivedAt[sequence][connection] = now;
+                                deliveries.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    closed.incrementAndGet();
+                }
+
+                @Override
+                public void onComplete() {
+                    closed.incrementAndGet();
+                }
+            }));
+        }
+        if (!ready.await(60, TimeUnit.SECONDS)) {
+            System.out.printf("Só %d de %d conexões abriram%n", tokens.size() - ready.getCount(), tokens.size());
+        }
+
+        JsonNode event = mapper.readTree(client.send(request("/api/events/" + eventId, adminToken).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+        for (int sequence = 1; sequence <= updates; sequence++) {
+            ObjectNode body = mapper.createObjectNode();
+            body.put("title", TITLE_PREFIX + sequence);
+            body.put("description", event.path("description").asText(""));
+            body.put("eventType", event.get("eventType").asText());
+            body.put("date", event.get("date").asText());
+            sentAt[sequence] = System.nanoTime();
+            HttpResponse<Void> response = client.send(request("/api/events/" + eventId, adminToken)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body.toString())).build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                System.out.println("PUT falhou: " + response.statusCode());
+            }
+            Thread.sleep(intervalMillis);
+        }
+
+        long expected = (long) updates * tokens.size();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (deliveries.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // Latência de cada entrega e, por alteração, até a última conexão receber
+        LatencyRecorder.Samples perDelivery = new LatencyRecorder.Samples();
+        LatencyRecorder.Samples complete = new LatencyRecorder.Samples();
+        for (int sequence = 1; sequence <= updates; sequence++) {
+            long last = 0;
+            for (long at : receivedAt[sequence]) {
+                if (at > 0) {
+                    perDelivery.add((at - sentAt[sequence]) / 1000);
+                    last = Math.max(last, at - sentAt[sequence]);
+                }
+            }
+            complete.add(last / 1000);
+        }
+        System.out.printf("entregas: %d de %d%n", deliveries.get(), expected);
+        if (deliveries.get() < expected) {
+            // Perdas concentradas em poucas conexões (fechadas ou fora do evento) ou espalhadas entre elas
+            int missingAll = 0;
+            int missingSome = 0;
+            for (int connection = 0; connection < tokens.size(); connection++) {
+                int received = 0;
+                for (int sequence = 1; sequence <= updates; sequence++) {
+                    received += receivedAt[sequence][connection] > 0 ? 1 : 0;
+                }
+                missingAll += received == 0 ? 1 : 0;
+                missingSome += received > 0 && received < updates ? 1 : 0;
+            }
+            System.out.printf("conexões sem nenhuma entrega: %d, com entregas faltando: %d, encerradas: %d%n",
+                    missingAll, missingSome, closed.get());
+        }
+        print("por entrega", perDelivery.sorted());
+        print("fan-out completo", complete.sorted());
+    }
+
+    private static void print(String label, long[] sorted) {
+        System.out.printf("%-17s p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  max %8.2f ms%n", label,
+                LatencyRecorder.percentile(sorted, 50) / 1000.0, LatencyRecorder.percentile(sorted, 99) / 1000.0,
+                LatencyRecorder.percentile(sorted, 99.9) / 1000.0,
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+    }
+
+    private int sequenceOf(String dataLine) {
+        try {
+            String title = mapper.readTree(dataLine.substring(5)).path("event").path("title").asText("");
+            return title.startsWith(TITLE_PREFIX) ? Integer.parseInt(title.substring(TITLE_PREFIX.length())) : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private JsonNode login(String username, String password) throws Exception {
+        String body = mapper.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response;
+        while (true) {
+            response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 503) {
+                break;
+            }
+            // Pool do BCrypt cheio: espera o Retry-After, como o LoadDriver
+            Thread.sleep(1000L * response.headers().firstValueAsLong("Retry-After").orElse(1));
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login de " + username + " falhou: " + response.statusCode());
+        }
+        return mapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token);
+    }
+}
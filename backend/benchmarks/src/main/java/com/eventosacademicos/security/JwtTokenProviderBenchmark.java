@@ -0,0 +1,71 @@
+package com.eventosacademicos.security;
+
+import com.eventosacademicos.model.UserType;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// No mesmo pacote do JwtTokenProvider para chamar init() como o Spring faz no @PostConstruct
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890123456789012345678901234567890";
+
+    private JwtTokenProvider tokenProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenProvider = new JwtTokenProvider();
+        setField("jwtSecret", SECRET);
+        setField("jwtExpirationInMs", 86_400_000);
+        tokenProvider.init();
+
+        CustomUserDetails details = new CustomUserDetails(42L, "aluno1", "senha",
+                List.of(new SimpleGrantedAuthority("ROLE_ALUNO")), true, UserType.ALUNO, 3);
+        authentication = new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    // Os campos são @Value no Spring; aqui são preenchidos diretamente
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtTokenProvider.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, tokenProvider, value);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJWT() {
+        return tokenProvider.getUsernameFromJWT(token);
+    }
+
+    // Caminho do JwtAuthenticationFilter: uma verificação de assinatura e o principal a partir das claims
+    @Benchmark
+    public CustomUserDetails parseClaimsToUserDetails() {
+        Claims claims = tokenProvider.parseClaims(token);
+        return tokenProvider.toUserDetails(claims);
+    }
+}
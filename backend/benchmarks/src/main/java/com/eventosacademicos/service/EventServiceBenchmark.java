@@ -0,0 +1,34 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.benchmark.BenchmarkData;
+import com.eventosacademicos.dto.EventResponseDTO;
+import com.eventosacademicos.model.Event;
+import com.eventosacademicos.model.UserType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Mapeamento de um evento já carregado para o DTO de detalhe, variando o número de membros
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventServiceBenchmark {
+
+    @Param({"0", "10", "100", "1000", "5000"})
+    public int members;
+
+    private Event event;
+
+    @Setup
+    public void setup() {
+        event = BenchmarkData.event(1, BenchmarkData.user(1, UserType.PROFESSOR), members);
+    }
+
+    @Benchmark
+    public EventResponseDTO toEventResponseDTO() {
+        return EventService.toEventResponseDTO(event);
+    }
+}
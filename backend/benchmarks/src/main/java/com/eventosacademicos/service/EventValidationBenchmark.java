@@ -0,0 +1,65 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.benchmark.BenchmarkData;
+import com.eventosacademicos.model.Event;
+import com.eventosacademicos.model.EventType;
+import com.eventosacademicos.model.UserType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// validateEventCreation para cada perfil; "rejected" mede o custo da exceção lançada
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EventValidationBenchmark {
+
+    private EventService eventService;
+    private Event byAdmin;
+    private Event examByProfessor;
+    private Event partyByStudent;
+    private Event examByStudent;
+
+    @Setup
+    public void setup() {
+        eventService = new EventService();
+        byAdmin = event(UserType.ADMINISTRADOR, EventType.FESTA);
+        examByProfessor = event(UserType.PROFESSOR, EventType.PROVA);
+        partyByStudent = event(UserType.ALUNO, EventType.FESTA);
+        examByStudent = event(UserType.ALUNO, EventType.PROVA);
+    }
+
+    private static Event event(UserType creatorType, EventType eventType) {
+        Event event = BenchmarkData.event(1, BenchmarkData.user(1, creatorType), 0);
+        event.setEventType(eventType);
+        return event;
+    }
+
+    @Benchmark
+    public void admin() {
+        eventService.validateEventCreation(byAdmin);
+    }
+
+    @Benchmark
+    public void professorExam() {
+        eventService.validateEventCreation(examByProfessor);
+    }
+
+    @Benchmark
+    public void studentParty() {
+        eventService.validateEventCreation(partyByStudent);
+    }
+
+    @Benchmark
+    public RuntimeException rejected() {
+        try {
+            eventService.validateEventCreation(examByStudent);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+}
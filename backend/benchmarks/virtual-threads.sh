@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Compara o modo padrão (pool de threads do Tomcat) com o de threads virtuais nos cenários de
+# calendário e de login, com a mesma massa (perfil loadtest, já populada pelo DataSeeder) e o
+# mesmo pool de conexões. Precisa de um JDK 21: JAVA21_HOME=/caminho/jdk-21 ./virtual-threads.sh
+# Resultados em load-results/<modo>-<cenário>.json
+set -euo pipefail
+cd "$(dirname "$0")"
+
+JAVA="${JAVA21_HOME:-${JAVA_HOME:-/usr}}/bin/java"
+APP_JAR="$(realpath "${APP_JAR:-../target/eventos-academicos-backend-0.0.1-SNAPSHOT-exec.jar}")"
+PORT="${PORT:-8080}"
+CLIENTS="${CLIENTS:-400}"
+WARMUP="${WARMUP:-20}"
+DURATION="${DURATION:-60}"
+HEAP="${HEAP:-512m}"
+OUT=load-results
+
+mkdir -p "$OUT"
+for mode in platform virtual; do
+    profiles=loadtest
+    [ "$mode" = virtual ] && profiles=loadtest,virtual-threads
+    # Executado a partir de backend/, onde fica o banco do perfil loadtest (data/loadtest)
+    (cd .. && exec "$JAVA" -Xmx"$HEAP" -jar "$APP_JAR" --spring.profiles.active="$profiles" \
+        --server.port="$PORT" --spring.datasource.hikari.maximum-pool-size=20) > "$OUT/app-$mode.log" 2>&1 &
+    app=$!
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        kill -0 "$app" 2> /dev/null || { echo "A aplicação não subiu, veja $OUT/app-$mode.log"; exit 1; }
+        sleep 1
+    done
+
+    # calendário: uma sessão longa por login; login: cada sessão é só login + calendário
+    for scenario in calendar login; do
+        session=50
+        [ "$scenario" = login ] && session=0
+        "$JAVA" -cp target/benchmarks.jar com.eventosacademicos.load.LoadDriver \
+            --base-url="http://localhost:$PORT" --threads="$CLIENTS" --warmup="$WARMUP" --duration="$DURATION" \
+            --mix=calendar=100 --session="$session" --jvm-metrics=true --out="$OUT/$mode-$scenario.json" \
+            | tee "$OUT/$mode-$scenario.txt"
+    done
+
+    kill "$app"
+    wait "$app" || true
+done
@@ -0,0 +1,94 @@
+package com.eventosacademicos.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Contagem, por requisição, de comandos SQL, entidades carregadas e coleções inicializadas pelo
+ * Hibernate. Os contadores ficam na thread da requisição e no fim viram distribuições
+ * hibernate.request.* com as tags method e uri (o padrão do endpoint, como em http.server.requests).
+ */
+public class HibernateRequestStatistics extends OncePerRequestFilter
+        implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    // Total de comandos SQL da requisição, para o log de requisições
+    public static final String STATEMENTS_ATTRIBUTE = HibernateRequestStatistics.class.getName() + ".statements";
+
+    private static final int STATEMENTS = 0;
+    private static final int ENTITY_LOADS = 1;
+    private static final int COLLECTION_FETCHES = 2;
+
+    private static final ThreadLocal<long[]> counters = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    public HibernateRequestStatistics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long[] current = new long[3];
+        counters.set(current);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            counters.remove();
+            request.setAttribute(STATEMENTS_ATTRIBUTE, current[STATEMENTS]);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+            record("hibernate.request.statements", "Comandos SQL por requisição", tags, current[STATEMENTS]);
+            record("hibernate.request.entity.loads", "Entidades carregadas por requisição", tags, current[ENTITY_LOADS]);
+            record("hibernate.request.collection.fetches", "Coleções inicializadas por requisição", tags,
+                    current[COLLECTION_FETCHES]);
+        }
+    }
+
+    private void record(String name, String description, Tags tags, long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(registry)
+                .record(value);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        increment(STATEMENTS);
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        increment(ENTITY_LOADS);
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        increment(COLLECTION_FETCHES);
+    }
+
+    private static void increment(int counter) {
+        long[] current = counters.get();
+        if (current != null) {
+            current[counter]++;
+        }
+    }
+}
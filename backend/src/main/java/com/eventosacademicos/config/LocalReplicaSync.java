@@ -0,0 +1,93 @@
+package com.eventosacademicos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Só para o perfil replica-local (dois bancos H2 em memória): simula a replicação copiando
+ * periodicamente o primário para a réplica com o comando SCRIPT do H2. O intervalo
+ * (datasource.replica.local-sync-ms) faz o papel do atraso de replicação.
+ */
+@Component
+@Profile("replica-local")
+public class LocalReplicaSync {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalReplicaSync.class);
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    private boolean schemaCreated = false;
+
+    @Scheduled(fixedDelayString = "${datasource.replica.local-sync-ms:2000}")
+    public void sync() throws SQLException {
+        List<String> statements = new ArrayList<>();
+        List<String> tables = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+                while (rs.next()) {
+                    statements.add(rs.getString(1));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public' AND table_type = 'BASE TABLE'")) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+        }
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setReadOnly(false);
+            if (!schemaCreated) {
+                // Primeira cópia: esquema e dados
+                for (String sql : statements) {
+                    statement.execute(sql);
+                }
+                schemaCreated = true;
+                return;
+            }
+            // Demais cópias: só os dados, em uma transação, para as leituras nunca verem tabelas vazias
+            connection.setAutoCommit(false);
+            try {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                for (String table : tables) {
+                    statement.execute("DELETE FROM \"" + table + "\"");
+                }
+                for (String sql : statements) {
+                    if (sql.startsWith("INSERT INTO")) {
+                        statement.execute(sql);
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                connection.setAutoCommit(true);
+            }
+        }
+        logger.debug("Réplica local sincronizada: {} tabelas", tables.size());
+    }
+}
@@ -0,0 +1,33 @@
+package com.eventosacademicos.config;
+
+import com.eventosacademicos.logging.DroppingAsyncAppender;
+import com.eventosacademicos.logging.RequestLogFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoggingConfig {
+
+    // Envolve os demais filtros, para medir a requisição inteira e ler a contagem de SQL no fim
+    @Bean
+    public FilterRegistrationBean<RequestLogFilter> requestLogFilter(
+            @Value("${logging.request.debug-sample-rate:0}") double debugSampleRate) {
+        FilterRegistrationBean<RequestLogFilter> registration =
+                new FilterRegistrationBean<>(new RequestLogFilter(debugSampleRate));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder droppedLogEvents() {
+        return registry -> FunctionCounter.builder("logging.async.dropped", DroppingAsyncAppender.class,
+                        appender -> DroppingAsyncAppender.getDroppedCount())
+                .description("Eventos de log descartados com a fila do appender assíncrono cheia")
+                .register(registry);
+    }
+}
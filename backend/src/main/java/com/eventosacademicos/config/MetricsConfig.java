@@ -0,0 +1,61 @@
+package com.eventosacademicos.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Métricas expostas em /actuator/prometheus, além das que o Spring Boot já registra
+ * (http.server.requests, spring.data.repository.invocations e hikaricp.*):
+ * - eventos.service: @Timed nos serviços;
+ * - hibernate.*: estatísticas globais do Hibernate (hibernate.generate_statistics);
+ * - hibernate.request.*: consultas, entidades e coleções por requisição.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernateRequestStatistics hibernateRequestStatistics(MeterRegistry registry) {
+        return new HibernateRequestStatistics(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<HibernateRequestStatistics> hibernateRequestStatisticsFilter(
+            HibernateRequestStatistics statistics) {
+        FilterRegistrationBean<HibernateRequestStatistics> registration = new FilterRegistrationBean<>(statistics);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatementInspector(HibernateRequestStatistics statistics) {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", statistics);
+    }
+
+    // Estatísticas globais e os listeners de carga de entidades e coleções, registrados após criar a fábrica
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory, HibernateRequestStatistics statistics) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_LOAD, statistics);
+        listeners.appendListeners(EventType.INIT_COLLECTION, statistics);
+        return new HibernateMetrics(sessionFactory, "entityManagerFactory", List.of());
+    }
+}
@@ -0,0 +1,28 @@
+package com.eventosacademicos.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open-in-view registrado manualmente (o do Spring Boot recua quando este bean existe) para
+ * excluir os endpoints que geram ou verificam hashes de senha. Com o EntityManager aberto na requisição o Hibernate segura a
+ * conexão do primeiro SELECT até o fim dela, inclusive durante o BCrypt: numa avalanche de logins
+ * as conexões do pool ficavam todas presas esperando CPU.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns("/api/auth/**", "/api/util/**", "/api/users/import");
+    }
+}
@@ -0,0 +1,74 @@
+package com.eventosacademicos.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formatos binários das respostas, escolhidos pelo cabeçalho Accept: CBOR (application/cbor) e
+ * Smile (application/x-jackson-smile). Usam o mesmo ObjectMapper configurado pelo Spring Boot para
+ * o JSON, com outra fábrica, então os campos, tipos e datas são exatamente os do JSON (esquema
+ * descrito em API_DOCUMENTATION.md). Sem Accept, ou com um tipo que não seja um desses, a resposta é JSON.
+ */
+@Configuration
+public class PayloadFormatsConfig {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    // Em ordem de preferência quando o cliente aceita qualquer um (*/*)
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    // O Spring Boot troca os conversores padrão destas classes pelos beans
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // Sufixo do ETag por formato, para que cada representação tenha o seu; o JSON mantém o ETag sem sufixo
+    public static String etagSuffix(MediaType format) {
+        return format.equals(MediaType.APPLICATION_CBOR) ? "-cbor" : format.equals(SMILE) ? "-smile" : "";
+    }
+
+    /**
+     * Formato da resposta para as respostas já serializadas (EventListCache), que não passam pelos
+     * conversores: o primeiro formato suportado na ordem de qualidade do Accept, ou JSON.
+     */
+    public static MediaType select(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : FORMATS) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,50 @@
+package com.eventosacademicos.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envia as conexões de transações somente leitura para a réplica e as demais para o primário.
+ *
+ * Depois que uma transação de escrita obtém conexão na thread, as leituras seguintes da mesma
+ * requisição continuam no primário (leitura das próprias escritas), até o {@link ReadYourWritesFilter}
+ * limpar a marcação. Conexões fora de transação, como o carregamento LAZY durante a serialização,
+ * vão para o primário.
+ *
+ * Precisa estar atrás de um LazyConnectionDataSourceProxy: a conexão só é obtida no primeiro comando,
+ * quando o indicador de somente leitura da transação já foi definido.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return isPinnedToPrimary() ? Target.PRIMARY : Target.REPLICA;
+        }
+        pinnedToPrimary.set(Boolean.TRUE);
+        return Target.PRIMARY;
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(pinnedToPrimary.get());
+    }
+
+    public static void clearPin() {
+        pinnedToPrimary.remove();
+    }
+}
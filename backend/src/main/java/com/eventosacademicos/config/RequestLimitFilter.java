@@ -0,0 +1,60 @@
+package com.eventosacademicos.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita as requisições em andamento. Com threads virtuais o Tomcat não tem mais o teto de
+ * threads do pool, e milhares de requisições simultâneas ficariam esperando conexão no Hikari
+ * até o timeout; aqui o excedente espera no máximo maxWaitMillis e recebe 503 com Retry-After.
+ * O actuator fica fora do limite para o health check e a coleta de métricas continuarem.
+ */
+public class RequestLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+
+    public RequestLimitFilter(int maxConcurrentRequests, long maxWaitMillis) {
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor sobrecarregado");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
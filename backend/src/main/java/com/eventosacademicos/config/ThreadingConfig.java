@@ -0,0 +1,88 @@
+package com.eventosacademicos.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Modo de threads virtuais (perfil virtual-threads): o Spring Boot troca o pool do Tomcat, o
+ * executor das respostas assíncronas e o agendador por threads virtuais quando
+ * spring.threads.virtual.enabled=true e a JVM é 21 ou mais nova; em Java 17 a opção é ignorada.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean
+    @ConditionalOnProperty("threads.request-limit")
+    public FilterRegistrationBean<RequestLimitFilter> requestLimitFilter(
+            @Value("${threads.request-limit}") int limit,
+            @Value("${threads.request-limit-wait-ms:1000}") long waitMillis) {
+        FilterRegistrationBean<RequestLimitFilter> registration =
+                new FilterRegistrationBean<>(new RequestLimitFilter(limit, waitMillis));
+        // Depois do log de requisições, para as recusadas também aparecerem nele
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty("threads.request-limit")
+    public MeterBinder requestLimitMetrics(FilterRegistrationBean<RequestLimitFilter> requestLimitFilter) {
+        return registry -> Gauge.builder("http.server.requests.permits.available",
+                        requestLimitFilter.getFilter(), RequestLimitFilter::getAvailablePermits)
+                .description("Vagas livres no limite de requisições simultâneas")
+                .register(registry);
+    }
+
+    /**
+     * Escritas do canal SSE (CalendarPushService), separadas do applicationTaskExecutor, que também
+     * atende as respostas assíncronas e os exports em streaming. Com threads virtuais, uma por tarefa;
+     * senão um pool de calendar.push.writer-threads: uma escrita parada ocupa uma thread até o timeout
+     * de escrita do Tomcat, então o pool precisa comportar os clientes lentos simultâneos.
+     */
+    @Bean
+    public TaskExecutor calendarPushExecutor(@Value("${calendar.push.writer-threads:32}") int writerThreads) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("calendar-push-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("calendar-push-");
+        executor.setCorePoolSize(writerThreads);
+        executor.setMaxPoolSize(writerThreads);
+        // Fila sem limite: cada assinante tem no máximo uma tarefa pendente
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder threadingMode() {
+        int javaVersion = Runtime.version().feature();
+        boolean active = virtualThreads && javaVersion >= 21;
+        if (virtualThreads && !active) {
+            logger.warn("spring.threads.virtual.enabled=true ignorado: threads virtuais exigem Java 21 (JVM atual: {})",
+                    javaVersion);
+        } else if (active) {
+            logger.info("Requisições atendidas por threads virtuais");
+        }
+        return registry -> Gauge.builder("app.threads.virtual", () -> active ? 1 : 0)
+                .description("1 quando as requisições são atendidas por threads virtuais")
+                .register(registry);
+    }
+}
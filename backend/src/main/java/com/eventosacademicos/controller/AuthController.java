@@ -4,12 +4,15 @@ import com.eventosacademicos.dto.AuthResponse;
 import com.eventosacademicos.dto.LoginRequest;
 import com.eventosacademicos.dto.RegisterRequest;
 import com.eventosacademicos.model.User;
+import com.eventosacademicos.security.CustomUserDetails;
 import com.eventosacademicos.security.JwtTokenProvider;
+import com.eventosacademicos.security.PasswordHasherBusyException;
 import com.eventosacademicos.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,9 +23,6 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "*")
 public class AuthController {
     
-    @Autowired
-    private AuthenticationManager authenticationManager;
-    
     @Autowired
     private JwtTokenProvider tokenProvider;
     
@@ -32,19 +32,22 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    loginRequest.getUsername(),
-                    loginRequest.getPassword()
-                )
+            CustomUserDetails userDetails = userService.authenticate(
+                loginRequest.getUsername(),
+                loginRequest.getPassword()
             );
             
+            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = tokenProvider.generateToken(authentication);
             
-            User user = userService.getUserByUsername(loginRequest.getUsername()).orElse(null);
-            
-            return ResponseEntity.ok(new AuthResponse(jwt, user.getId(), user.getUsername(), user.getUserType()));
+            return ResponseEntity.ok(new AuthResponse(jwt, userDetails.getId(), userDetails.getUsername(), userDetails.getUserType()));
+        } catch (PasswordHasherBusyException e) {
+            // Pool do BCrypt saturado: o cliente deve tentar de novo em instantes
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new AuthResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new AuthResponse("Credenciais inválidas"));
         }
@@ -65,6 +68,11 @@ public class AuthController {
             User savedUser = userService.createUser(user);
             
             return ResponseEntity.ok(new AuthResponse("Usuário registrado com sucesso. Aguarde aprovação do administrador."));
+        } catch (PasswordHasherBusyException e) {
+            // Mesmo pool do login: sobrecarga não é erro do pedido
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new AuthResponse(e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
         }
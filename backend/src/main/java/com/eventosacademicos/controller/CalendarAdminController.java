@@ -0,0 +1,52 @@
+package com.eventosacademicos.controller;
+
+import com.eventosacademicos.dto.CalendarConsistencyDTO;
+import com.eventosacademicos.service.CalendarIndexEngine;
+import com.eventosacademicos.service.UserCalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/calendar")
+@CrossOrigin(origins = "*")
+@PreAuthorize("hasRole('ADMINISTRADOR')")
+public class CalendarAdminController {
+    
+    @Autowired
+    private UserCalendarService userCalendarService;
+    
+    @Autowired
+    private CalendarIndexEngine calendarIndexEngine;
+    
+    @GetMapping("/check")
+    public ResponseEntity<CalendarConsistencyDTO> checkConsistency() {
+        return ResponseEntity.ok(userCalendarService.checkConsistency());
+    }
+    
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild(@RequestParam(required = false) Long userId) {
+        int entries = userId != null
+                ? userCalendarService.rebuildForUser(userId)
+                : userCalendarService.rebuildAll();
+        return ResponseEntity.ok(Map.of("entries", entries));
+    }
+    
+    @GetMapping("/engine")
+    public ResponseEntity<Map<String, Object>> getEngineStats() {
+        return ResponseEntity.ok(calendarIndexEngine.getStats());
+    }
+    
+    @GetMapping("/engine/compare")
+    public ResponseEntity<Map<String, Object>> compareEngine(
+            @RequestParam Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(calendarIndexEngine.compareWithDatabase(userId, from, to));
+    }
+}
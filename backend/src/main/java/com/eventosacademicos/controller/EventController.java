@@ -1,25 +1,65 @@
 package com.eventosacademicos.controller;
 
+import com.eventosacademicos.config.PayloadFormatsConfig;
+import com.eventosacademicos.dto.CalendarChangesDTO;
+import com.eventosacademicos.dto.CalendarEventDTO;
+import com.eventosacademicos.dto.ConflictCheckRequest;
+import com.eventosacademicos.dto.EventMemberDTO;
 import com.eventosacademicos.dto.EventRequest;
+import com.eventosacademicos.dto.KeysetPage;
+import com.eventosacademicos.dto.MemberIdsRequest;
+import com.eventosacademicos.dto.MembershipChangeDTO;
+import com.eventosacademicos.dto.OccurrenceRequest;
 import com.eventosacademicos.dto.EventResponseDTO;
 import com.eventosacademicos.model.Event;
-import com.eventosacademicos.model.EventMember;
+import com.eventosacademicos.model.EventOverride;
 import com.eventosacademicos.model.EventType;
 import com.eventosacademicos.model.User;
+import com.eventosacademicos.security.CustomUserDetails;
+import com.eventosacademicos.service.CalendarChangeService;
+import com.eventosacademicos.service.CalendarPushService;
+import com.eventosacademicos.service.EventListCache;
 import com.eventosacademicos.service.EventService;
+import com.eventosacademicos.service.IcsFeedService;
+import com.eventosacademicos.service.ScheduleConflictService;
 import com.eventosacademicos.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/events")
@@ -28,20 +68,44 @@ public class EventController {
     
     private static final Logger logger = LoggerFactory.getLogger(EventController.class);
     
+    static final String NDJSON = "application/x-ndjson";
+    
+    // Atributos do sendfile do Tomcat
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @Autowired
     private EventService eventService;
     
+    @Autowired
+    private EventListCache eventListCache;
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private IcsFeedService icsFeedService;
+    
+    @Autowired
+    private CalendarPushService calendarPushService;
+    
+    @Autowired
+    private CalendarChangeService calendarChangeService;
+    
+    @Autowired
+    private ScheduleConflictService scheduleConflictService;
+    
     @PostMapping
     public ResponseEntity<Event> createEvent(@Valid @RequestBody EventRequest eventRequest) {
         try {
             logger.info("Recebendo requisição para criar evento: {}", eventRequest);
             // Obter usuário atual
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            User currentUser = userService.getUserByUsername(auth.getName())
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+            User currentUser = getCurrentUser();
             
             // Criar evento
             Event event = new Event(
@@ -51,16 +115,13 @@ public class EventController {
                 eventRequest.getDate(),
                 currentUser
             );
-            
-            Event createdEvent = eventService.createEvent(event);
-            
-            // Adicionar membros se especificados
-            if (eventRequest.getMemberIds() != null && !eventRequest.getMemberIds().isEmpty()) {
-                for (Long memberId : eventRequest.getMemberIds()) {
-                    eventService.addMemberToEvent(createdEvent.getId(), memberId);
-                }
+            if (eventRequest.getRecurrenceRule() != null && !eventRequest.getRecurrenceRule().isBlank()) {
+                event.setRecurrenceRule(eventRequest.getRecurrenceRule().trim());
             }
             
+            // Criar evento e adicionar membros, se especificados, em uma única transação
+            Event createdEvent = eventService.createEvent(event, eventRequest.getMemberIds());
+            
             logger.info("Evento criado com sucesso: {}", createdEvent);
             return ResponseEntity.ok(createdEvent);
         } catch (RuntimeException e) {
@@ -70,55 +131,159 @@ public class EventController {
     }
     
     @GetMapping
-    public ResponseEntity<List<Event>> getEvents() {
+    public ResponseEntity<?> getEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            WebRequest request) {
         try {
             // Obter usuário atual
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            User currentUser = userService.getUserByUsername(auth.getName())
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+            User currentUser = getCurrentUser();
+            
+            // A versão do calendário do usuário é lida por chave primária antes da consulta principal
+            Optional<Long> version = eventService.getCalendarVersion(currentUser);
+            String etag = version.map(v -> "cal-" + currentUser.getId() + "-" + v).orElse(null);
             
-            List<Event> events = eventService.getEventsForUser(currentUser);
-            return ResponseEntity.ok(events);
+            // Com janela de datas: feed enxuto do calendário, ordenado por data
+            if (from != null || to != null) {
+                if (from == null || to == null) {
+                    return ResponseEntity.badRequest().build();
+                }
+                return conditional(request, etag, () -> eventService.getCalendarFeed(currentUser, from, to));
+            }
+            
+            return conditional(request, etag, () -> eventService.getEventsForUser(currentUser));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/all")
-    public ResponseEntity<List<Event>> getAllEvents() {
-        List<Event> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) Long after,
+                                          @RequestParam(required = false) Integer limit,
+                                          WebRequest request) {
+        // Com cursor ou limite: paginação por chave em vez da tabela inteira
+        if (after != null || limit != null) {
+            KeysetPage<Event> page = eventService.getEventsPage(after, limit);
+            return ResponseEntity.ok(page);
+        }
+        
+        return cached(request, eventListCache.getAllEvents(format(request)));
+    }
+    
+    @GetMapping(value = "/all", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllEvents() {
+        ObjectWriter writer = objectMapper.writer().withRootValueSeparator("\n");
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter sequence = writer.writeValues(out)) {
+                eventService.streamAllEvents(event -> writeValue(sequence, event));
+                sequence.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+    
+    /**
+     * Calendário do usuário em iCalendar, para assinatura em apps de calendário, que enviam em
+     * ?token= o token do feed (POST /feed-token), não o JWT da sessão. O arquivo em cache é enviado pelo sendfile do Tomcat ou, sem ele,
+     * com FileChannel.transferTo; a cada consulta o banco só é lido para a versão do calendário.
+     */
+    @GetMapping("/feed.ics")
+    public void getIcsFeed(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        User currentUser = getCurrentUser();
+        Optional<Long> version = eventService.getCalendarVersion(currentUser);
+        if (version.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        
+        Path file = icsFeedService.getFeed(currentUser.getId(), version.get());
+        String etag = "ics-" + currentUser.getId() + "-" + version.get() + "-" + icsFeedService.getSlotMinutes();
+        if (new ServletWebRequest(request, response).checkNotModified(etag, Files.getLastModifiedTime(file).toMillis())) {
+            return;
+        }
+        response.setContentType("text/calendar;charset=UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        sendFile(file, request, response);
+    }
+    
+    /**
+     * Emite o token do feed iCalendar do usuário e revoga o anterior. O token só é devolvido nesta
+     * resposta e só autentica GET /feed.ics.
+     */
+    @PostMapping("/feed-token")
+    public ResponseEntity<?> issueFeedToken() {
+        try {
+            String token = userService.issueFeedToken(getCurrentUser().getId());
+            return ResponseEntity.ok(Map.of("token", token, "url", "/api/events/feed.ics?token=" + token));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/feed-token")
+    public ResponseEntity<?> revokeFeedToken() {
+        try {
+            userService.revokeFeedToken(getCurrentUser().getId());
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Mudanças no calendário do usuário por Server-Sent Events. O EventSource do navegador não
+     * envia cabeçalhos, então o token também é aceito em ?token=.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges() {
+        return calendarPushService.subscribe(getCurrentUser().getId());
+    }
+    
+    // Sincronização por delta: o token devolvido vai no since da próxima chamada
+    @GetMapping("/changes")
+    public ResponseEntity<CalendarChangesDTO> getChanges(@RequestParam(required = false) String since) {
+        try {
+            return ResponseEntity.ok(calendarChangeService.getChanges(getCurrentUser().getId(), since));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponseDTO> getEventById(@PathVariable Long id) {
-        return eventService.getEventById(id)
-                .map(event -> ResponseEntity.ok(EventService.toEventResponseDTO(event)))
+    public ResponseEntity<EventResponseDTO> getEventById(@PathVariable Long id, WebRequest request) {
+        Optional<Long> version = eventService.getEventVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "ev-" + id + "-" + version.get() + PayloadFormatsConfig.etagSuffix(format(request));
+        if (request.checkNotModified(etag)) {
+            return notModified();
+        }
+        return eventService.getEventDetails(id)
+                .map(event -> ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                        .varyBy(HttpHeaders.ACCEPT).body(event))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/type/{eventType}")
-    public ResponseEntity<List<Event>> getEventsByType(@PathVariable EventType eventType) {
-        List<Event> events = eventService.getEventsByType(eventType);
-        return ResponseEntity.ok(events);
+    public ResponseEntity<byte[]> getEventsByType(@PathVariable EventType eventType, WebRequest request) {
+        return cached(request, eventListCache.getEventsByType(eventType, format(request)));
     }
     
     @GetMapping("/academic")
-    public ResponseEntity<List<Event>> getAcademicEvents() {
-        List<Event> events = eventService.getAcademicEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<byte[]> getAcademicEvents(WebRequest request) {
+        return cached(request, eventListCache.getAcademicEvents(format(request)));
     }
     
     @GetMapping("/party")
-    public ResponseEntity<List<Event>> getPartyEvents() {
-        List<Event> events = eventService.getPartyEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<byte[]> getPartyEvents(WebRequest request) {
+        return cached(request, eventListCache.getPartyEvents(format(request)));
     }
     
     @GetMapping("/{id}/members")
-    public ResponseEntity<Set<EventMember>> getEventMembers(@PathVariable Long id) {
+    public ResponseEntity<List<EventMemberDTO>> getEventMembers(@PathVariable Long id) {
         try {
-            Set<EventMember> members = eventService.getEventMembers(id);
+            List<EventMemberDTO> members = eventService.getEventMembers(id);
             return ResponseEntity.ok(members);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -129,9 +294,7 @@ public class EventController {
     public ResponseEntity<Event> updateEvent(@PathVariable Long id, @Valid @RequestBody EventRequest eventRequest) {
         try {
             // Obter usuário atual
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            User currentUser = userService.getUserByUsername(auth.getName())
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+            User currentUser = getCurrentUser();
             
             // Criar objeto Event com os dados da requisição
             Event eventDetails = new Event();
@@ -139,6 +302,7 @@ public class EventController {
             eventDetails.setDescription(eventRequest.getDescription());
             eventDetails.setEventType(eventRequest.getEventType());
             eventDetails.setDate(eventRequest.getDate());
+            eventDetails.setRecurrenceRule(eventRequest.getRecurrenceRule());
             
             Event updatedEvent = eventService.updateEvent(id, eventDetails, currentUser);
             return ResponseEntity.ok(updatedEvent);
@@ -151,9 +315,7 @@ public class EventController {
     public ResponseEntity<?> deleteEvent(@PathVariable Long id) {
         try {
             // Obter usuário atual
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            User currentUser = userService.getUserByUsername(auth.getName())
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+            User currentUser = getCurrentUser();
             
             eventService.deleteEvent(id, currentUser);
             return ResponseEntity.ok().build();
@@ -162,10 +324,72 @@ public class EventController {
         }
     }
     
+    // Conflitos de horário de um horário (ou série) com os calendários dos usuários informados
+    @PostMapping("/conflicts")
+    @PreAuthorize("hasAnyRole('PROFESSOR', 'ADMINISTRADOR')")
+    public ResponseEntity<?> checkConflicts(@Valid @RequestBody ConflictCheckRequest conflictRequest) {
+        try {
+            return ResponseEntity.ok(scheduleConflictService.findConflicts(conflictRequest.getDate(),
+                    conflictRequest.getRecurrenceRule(), conflictRequest.getUserIds(), conflictRequest.getEventId(),
+                    conflictRequest.getEventTypes()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Erro ao verificar conflitos: " + e.getMessage());
+        }
+    }
+    
+    // Conflitos do evento com os calendários do organizador e dos membros
+    @GetMapping("/{id}/conflicts")
+    @PreAuthorize("hasAnyRole('PROFESSOR', 'ADMINISTRADOR')")
+    public ResponseEntity<?> getEventConflicts(@PathVariable Long id,
+                                               @RequestParam(required = false) List<EventType> types) {
+        try {
+            return ResponseEntity.ok(scheduleConflictService.findConflictsForEvent(id, types));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // Ocorrências de eventos recorrentes, identificadas pela data original
+    @PutMapping("/{id}/occurrences/{occurrenceDate}")
+    public ResponseEntity<?> updateOccurrence(@PathVariable Long id,
+                                              @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceDate,
+                                              @RequestBody OccurrenceRequest occurrenceRequest) {
+        try {
+            User currentUser = getCurrentUser();
+            
+            EventOverride details = new EventOverride();
+            details.setTitle(occurrenceRequest.getTitle());
+            details.setDescription(occurrenceRequest.getDescription());
+            details.setDate(occurrenceRequest.getDate());
+            
+            return ResponseEntity.ok(eventService.overrideOccurrence(id, occurrenceDate, details, currentUser));
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao alterar ocorrência {} do evento {}: {}", occurrenceDate, id, e.getMessage());
+            return ResponseEntity.badRequest().body("Erro ao alterar ocorrência: " + e.getMessage());
+        }
+    }
+    
+    @DeleteMapping("/{id}/occurrences/{occurrenceDate}")
+    public ResponseEntity<?> cancelOccurrence(@PathVariable Long id,
+                                              @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceDate) {
+        try {
+            User currentUser = getCurrentUser();
+            
+            EventOverride details = new EventOverride();
+            details.setCancelled(true);
+            
+            eventService.overrideOccurrence(id, occurrenceDate, details, currentUser);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao cancelar ocorrência {} do evento {}: {}", occurrenceDate, id, e.getMessage());
+            return ResponseEntity.badRequest().body("Erro ao cancelar ocorrência: " + e.getMessage());
+        }
+    }
+    
     @PostMapping("/{eventId}/members/{userId}")
     public ResponseEntity<Event> addMemberToEvent(@PathVariable Long eventId, @PathVariable Long userId) {
         try {
-            Event event = eventService.addMemberToEvent(eventId, userId);
+            Event event = eventService.addMemberToEvent(eventId, userId, getCurrentUser());
             return ResponseEntity.ok(event);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
@@ -174,16 +398,119 @@ public class EventController {
     
     @DeleteMapping("/{eventId}/members/{userId}")
     public ResponseEntity<?> removeMemberFromEvent(@PathVariable Long eventId, @PathVariable Long userId) {
-        System.out.println("[CONTROLLER] Requisição para remover membro: eventId=" + eventId + ", userId=" + userId);
         try {
-            System.out.println("[CONTROLLER] Chamando service.removeMemberFromEvent...");
-            eventService.removeMemberFromEvent(eventId, userId);
-            System.out.println("[CONTROLLER] Membro removido com sucesso!");
+            eventService.removeMemberFromEvent(eventId, userId, getCurrentUser());
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
-            System.out.println("[CONTROLLER] Erro ao remover membro: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Erro ao remover membro {} do evento {}: {}", userId, eventId, e.getMessage());
             return ResponseEntity.badRequest().body("Erro ao remover membro: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+    
+    @PostMapping("/{eventId}/members")
+    public ResponseEntity<MembershipChangeDTO> addMembersToEvent(@PathVariable Long eventId,
+                                                                 @Valid @RequestBody MemberIdsRequest request) {
+        try {
+            int added = eventService.addMembersToEvent(eventId, request.getUserIds(), getCurrentUser());
+            return ResponseEntity.ok(new MembershipChangeDTO(added, 0));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PutMapping("/{eventId}/members")
+    public ResponseEntity<MembershipChangeDTO> replaceEventMembers(@PathVariable Long eventId,
+                                                                   @Valid @RequestBody MemberIdsRequest request) {
+        try {
+            return ResponseEntity.ok(eventService.replaceEventMembers(eventId, request.getUserIds(), getCurrentUser()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/{eventId}/members")
+    public ResponseEntity<MembershipChangeDTO> removeMembersFromEvent(@PathVariable Long eventId,
+                                                                     @RequestParam List<Long> userIds) {
+        try {
+            int removed = eventService.removeMembersFromEvent(eventId, userIds, getCurrentUser());
+            return ResponseEntity.ok(new MembershipChangeDTO(0, removed));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    private static void sendFile(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = Files.size(file);
+        response.setContentLengthLong(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // O conector NIO envia o arquivo depois que o método retorna, sem passar pela aplicação
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < length; ) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+    
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        // O principal vem das claims do token: nenhuma consulta ao banco é necessária
+        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails details
+                && details.getUserType() != null) {
+            return userService.toUserReference(details);
+        }
+        return userService.getUserByUsername(auth.getName())
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+    }
+    
+    /**
+     * GET condicional: se o If-None-Match do cliente ainda corresponde à versão atual
+     * responde 304 sem executar a consulta do corpo. Sem ETag (null) responde normalmente.
+     * O formato negociado pelo Accept entra no ETag, como no EventListCache.
+     */
+    static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(body.get());
+        }
+        String formatEtag = etag + PayloadFormatsConfig.etagSuffix(format(request));
+        if (request.checkNotModified(formatEtag)) {
+            return notModified();
+        }
+        // no-cache: o navegador guarda a resposta, mas revalida a cada uso
+        return ResponseEntity.ok().eTag(formatEtag).cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+    
+    // Lista já serializada pelo EventListCache: o corpo vai como está, sem passar pelo Jackson
+    static ResponseEntity<byte[]> cached(WebRequest request, EventListCache.Entry entry) {
+        if (request.checkNotModified(entry.etag())) {
+            return notModified();
+        }
+        return ResponseEntity.ok().eTag(entry.etag()).cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT).contentType(entry.contentType()).body(entry.body());
+    }
+    
+    // JSON, CBOR ou Smile, conforme o Accept (PayloadFormatsConfig)
+    private static MediaType format(WebRequest request) {
+        return PayloadFormatsConfig.select(request.getHeader(HttpHeaders.ACCEPT));
+    }
+    
+    // checkNotModified já definiu o status 304 e o cabeçalho ETag
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT).build();
+    }
+    
+    static void writeValue(SequenceWriter sequence, Object value) {
+        try {
+            sequence.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
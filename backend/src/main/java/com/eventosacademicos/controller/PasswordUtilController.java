@@ -1,17 +1,21 @@
 package com.eventosacademicos.controller;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import com.eventosacademicos.security.PasswordHasher;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/util")
 public class PasswordUtilController {
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    // Mesmo encoder (e custo) do login, executado no pool limitado do BCrypt
     @PostMapping("/hash")
     public Map<String, String> hashPassword(@RequestBody Map<String, String> body) {
         String password = body.get("password");
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-        String hash = encoder.encode(password);
+        String hash = passwordHasher.encode(password);
         return Map.of("hash", hash);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
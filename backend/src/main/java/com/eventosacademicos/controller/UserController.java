@@ -2,15 +2,33 @@ package com.eventosacademicos.controller;
 
 import com.eventosacademicos.model.User;
 import com.eventosacademicos.model.UserType;
+import com.eventosacademicos.security.PasswordHasherBusyException;
+import com.eventosacademicos.service.UserImportService;
 import com.eventosacademicos.service.UserService;
+import com.eventosacademicos.dto.KeysetPage;
+import com.eventosacademicos.dto.MemberIdsRequest;
 import com.eventosacademicos.dto.UserDTO;
+import com.eventosacademicos.dto.UserImportResultDTO;
 import com.eventosacademicos.dto.UserSummaryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -20,13 +38,38 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMINISTRADOR')")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer limit) {
+        if (after != null || limit != null) {
+            KeysetPage<UserDTO> page = userService.getUsersPage(after, limit);
+            return ResponseEntity.ok(page);
+        }
+        
         List<UserDTO> users = userService.getAllUsers().stream().map(UserDTO::fromEntity).toList();
         return ResponseEntity.ok(users);
     }
     
+    @GetMapping(produces = EventController.NDJSON)
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        ObjectWriter writer = objectMapper.writer().withRootValueSeparator("\n");
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter sequence = writer.writeValues(out)) {
+                userService.streamAllUsers(user -> EventController.writeValue(sequence, user));
+                sequence.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(EventController.NDJSON)).body(body);
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMINISTRADOR') or #id == authentication.principal.id")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
@@ -61,12 +104,41 @@ public class UserController {
         }
     }
     
+    @PostMapping("/approve")
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<Map<String, Integer>> approveUsers(@Valid @RequestBody MemberIdsRequest request) {
+        return ResponseEntity.ok(Map.of("approved", userService.approveUsers(request.getUserIds())));
+    }
+    
+    // Corpo em CSV (com cabeçalho) ou NDJSON, lido em streaming; ?approved=true já cria os usuários aprovados
+    @PostMapping(value = "/import", consumes = {"text/csv", EventController.NDJSON})
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    public ResponseEntity<?> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                         @RequestParam(defaultValue = "false") boolean approved,
+                                         InputStream body) {
+        UserImportResultDTO result;
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            UserImportService.Format format = mediaType.isCompatibleWith(MediaType.parseMediaType(EventController.NDJSON))
+                    ? UserImportService.Format.NDJSON : UserImportService.Format.CSV;
+            Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+            result = userImportService.importUsers(new InputStreamReader(body, charset), format, approved);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", String.valueOf(e.getMessage())));
+        }
+        // Interrompida: 400 com o motivo e o que já foi importado nos blocos confirmados
+        return result.isAborted() ? ResponseEntity.badRequest().body(result) : ResponseEntity.ok(result);
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMINISTRADOR') or #id == authentication.principal.id")
     public ResponseEntity<UserDTO> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
         try {
             User updatedUser = userService.updateUser(id, userDetails);
             return ResponseEntity.ok(UserDTO.fromEntity(updatedUser));
+        } catch (PasswordHasherBusyException e) {
+            // Troca de senha com o pool do BCrypt saturado: o cliente deve tentar de novo em instantes
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -0,0 +1,28 @@
+package com.eventosacademicos.dto;
+
+import java.util.List;
+
+public class CalendarChangesDTO {
+    private String token;
+    private boolean reset;
+    private List<CalendarEventDTO> events;
+    private List<CalendarTombstoneDTO> removed;
+
+    public CalendarChangesDTO() {}
+
+    public CalendarChangesDTO(String token, boolean reset, List<CalendarEventDTO> events, List<CalendarTombstoneDTO> removed) {
+        this.token = token;
+        this.reset = reset;
+        this.events = events;
+        this.removed = removed;
+    }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public boolean isReset() { return reset; }
+    public void setReset(boolean reset) { this.reset = reset; }
+    public List<CalendarEventDTO> getEvents() { return events; }
+    public void setEvents(List<CalendarEventDTO> events) { this.events = events; }
+    public List<CalendarTombstoneDTO> getRemoved() { return removed; }
+    public void setRemoved(List<CalendarTombstoneDTO> removed) { this.removed = removed; }
+}
@@ -0,0 +1,23 @@
+package com.eventosacademicos.dto;
+
+public class CalendarConsistencyDTO {
+    private long missing;
+    private long orphan;
+    private long stale;
+
+    public CalendarConsistencyDTO() {}
+
+    public CalendarConsistencyDTO(long missing, long orphan, long stale) {
+        this.missing = missing;
+        this.orphan = orphan;
+        this.stale = stale;
+    }
+
+    public boolean isConsistent() { return missing == 0 && orphan == 0 && stale == 0; }
+    public long getMissing() { return missing; }
+    public void setMissing(long missing) { this.missing = missing; }
+    public long getOrphan() { return orphan; }
+    public void setOrphan(long orphan) { this.orphan = orphan; }
+    public long getStale() { return stale; }
+    public void setStale(long stale) { this.stale = stale; }
+}
@@ -0,0 +1,35 @@
+package com.eventosacademicos.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Mudança enviada pelo canal SSE (/api/events/stream); event vem nulo em exclusões e remoções
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalendarDeltaDTO {
+
+    public enum Type {
+        EVENT_CREATED,
+        EVENT_UPDATED,
+        EVENT_DELETED,
+        MEMBERSHIP_ADDED,
+        MEMBERSHIP_REMOVED
+    }
+
+    private Type type;
+    private Long eventId;
+    private CalendarEventDTO event;
+
+    public CalendarDeltaDTO() {}
+
+    public CalendarDeltaDTO(Type type, Long eventId, CalendarEventDTO event) {
+        this.type = type;
+        this.eventId = eventId;
+        this.event = event;
+    }
+
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public CalendarEventDTO getEvent() { return event; }
+    public void setEvent(CalendarEventDTO event) { this.event = event; }
+}
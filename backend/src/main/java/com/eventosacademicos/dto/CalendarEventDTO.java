@@ -0,0 +1,62 @@
+package com.eventosacademicos.dto;
+
+import com.eventosacademicos.model.EventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+
+public class CalendarEventDTO {
+    private Long id;
+    private String title;
+    private EventType eventType;
+    private LocalDateTime date;
+    private Long organizerId;
+    private String organizerName;
+    private long memberCount;
+    // Regra da série (nula em eventos únicos) e, nas ocorrências expandidas, a data original da ocorrência
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String recurrenceRule;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime occurrenceDate;
+
+    public CalendarEventDTO() {}
+
+    // Usado pelas projeções JPQL em EventRepository (findCalendarFeedForUser e afins)
+    public CalendarEventDTO(Long id, String title, EventType eventType, LocalDateTime date, Long organizerId, String organizerName,
+                            Long memberCount, String recurrenceRule) {
+        this.id = id;
+        this.title = title;
+        this.eventType = eventType;
+        this.date = date;
+        this.organizerId = organizerId;
+        this.organizerName = organizerName;
+        this.memberCount = memberCount != null ? memberCount : 0;
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    // Ocorrência de uma série na data informada
+    public CalendarEventDTO toOccurrence(LocalDateTime occurrence, LocalDateTime date, String title) {
+        CalendarEventDTO copy = new CalendarEventDTO(id, title, eventType, date, organizerId, organizerName,
+                memberCount, recurrenceRule);
+        copy.occurrenceDate = occurrence;
+        return copy;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public EventType getEventType() { return eventType; }
+    public void setEventType(EventType eventType) { this.eventType = eventType; }
+    public LocalDateTime getDate() { return date; }
+    public void setDate(LocalDateTime date) { this.date = date; }
+    public Long getOrganizerId() { return organizerId; }
+    public void setOrganizerId(Long organizerId) { this.organizerId = organizerId; }
+    public String getOrganizerName() { return organizerName; }
+    public void setOrganizerName(String organizerName) { this.organizerName = organizerName; }
+    public long getMemberCount() { return memberCount; }
+    public void setMemberCount(long memberCount) { this.memberCount = memberCount; }
+    public String getRecurrenceRule() { return recurrenceRule; }
+    public void setRecurrenceRule(String recurrenceRule) { this.recurrenceRule = recurrenceRule; }
+    public LocalDateTime getOccurrenceDate() { return occurrenceDate; }
+    public void setOccurrenceDate(LocalDateTime occurrenceDate) { this.occurrenceDate = occurrenceDate; }
+}
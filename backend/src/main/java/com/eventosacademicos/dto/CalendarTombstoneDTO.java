@@ -0,0 +1,21 @@
+package com.eventosacademicos.dto;
+
+import com.eventosacademicos.model.CalendarTombstone;
+
+public class CalendarTombstoneDTO {
+    private Long eventId;
+    private CalendarTombstone.Reason reason;
+
+    public CalendarTombstoneDTO() {}
+
+    // Usado pela projeção JPQL em CalendarTombstoneRepository.findForUser
+    public CalendarTombstoneDTO(Long eventId, CalendarTombstone.Reason reason) {
+        this.eventId = eventId;
+        this.reason = reason;
+    }
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public CalendarTombstone.Reason getReason() { return reason; }
+    public void setReason(CalendarTombstone.Reason reason) { this.reason = reason; }
+}
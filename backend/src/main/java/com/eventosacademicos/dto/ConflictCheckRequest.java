@@ -0,0 +1,69 @@
+package com.eventosacademicos.dto;
+
+import com.eventosacademicos.model.EventType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ConflictCheckRequest {
+    
+    @NotNull(message = "Data é obrigatória")
+    private LocalDateTime date;
+    
+    // Opcional: verifica todas as ocorrências da série
+    private String recurrenceRule;
+    
+    @NotNull(message = "Lista de usuários é obrigatória")
+    private List<Long> userIds;
+    
+    // Opcional: evento ignorado na verificação (o próprio evento, ao remarcá-lo)
+    private Long eventId;
+    
+    // Opcional: tipos de evento considerados; todos quando ausente
+    private List<EventType> eventTypes;
+    
+    // Construtores
+    public ConflictCheckRequest() {}
+    
+    // Getters e Setters
+    public LocalDateTime getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+    
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+    
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public List<EventType> getEventTypes() {
+        return eventTypes;
+    }
+    
+    public void setEventTypes(List<EventType> eventTypes) {
+        this.eventTypes = eventTypes;
+    }
+}
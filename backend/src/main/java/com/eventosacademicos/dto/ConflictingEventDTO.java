@@ -0,0 +1,57 @@
+package com.eventosacademicos.dto;
+
+import com.eventosacademicos.model.EventType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+
+public class ConflictingEventDTO {
+    private Long userId;
+    private Long id;
+    private String title;
+    private EventType eventType;
+    private LocalDateTime date;
+    private String recurrenceRule;
+    // Data original, quando o evento conflitante é ocorrência de uma série
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime occurrenceDate;
+    // Horário verificado com que o evento se sobrepõe
+    private LocalDateTime conflictsWith;
+
+    public ConflictingEventDTO() {}
+
+    // Usado pelas projeções JPQL em EventRepository (findConflictCandidates e findConflictSeries)
+    public ConflictingEventDTO(Long userId, Long id, String title, EventType eventType, LocalDateTime date, String recurrenceRule) {
+        this.userId = userId;
+        this.id = id;
+        this.title = title;
+        this.eventType = eventType;
+        this.date = date;
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    // Ocorrência de uma série na data informada
+    public ConflictingEventDTO toOccurrence(LocalDateTime occurrence, LocalDateTime date, String title) {
+        ConflictingEventDTO copy = new ConflictingEventDTO(userId, id, title, eventType, date, recurrenceRule);
+        copy.occurrenceDate = occurrence;
+        return copy;
+    }
+
+    public ConflictingEventDTO withConflict(LocalDateTime slot) {
+        ConflictingEventDTO copy = new ConflictingEventDTO(userId, id, title, eventType, date, recurrenceRule);
+        copy.occurrenceDate = occurrenceDate;
+        copy.conflictsWith = slot;
+        return copy;
+    }
+
+    @JsonIgnore
+    public Long getUserId() { return userId; }
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public EventType getEventType() { return eventType; }
+    public LocalDateTime getDate() { return date; }
+    @JsonIgnore
+    public String getRecurrenceRule() { return recurrenceRule; }
+    public LocalDateTime getOccurrenceDate() { return occurrenceDate; }
+    public LocalDateTime getConflictsWith() { return conflictsWith; }
+}
@@ -22,6 +22,9 @@ public class EventRequest {
     
     private List<Long> memberIds;
     
+    // RRULE (subconjunto da RFC 5545); na atualização, nulo mantém a regra e vazio a remove
+    private String recurrenceRule;
+    
     // Construtores
     public EventRequest() {}
     
@@ -73,6 +76,14 @@ public class EventRequest {
     public void setMemberIds(List<Long> memberIds) {
         this.memberIds = memberIds;
     }
+    
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
 
     @Override
     public String toString() {
@@ -82,6 +93,7 @@ public class EventRequest {
                 ", eventType=" + eventType +
                 ", date=" + date +
                 ", memberIds=" + memberIds +
+                ", recurrenceRule='" + recurrenceRule + '\'' +
                 '}';
     }
 } 
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.eventosacademicos.dto;
 
 import com.eventosacademicos.model.EventType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -12,6 +13,8 @@ public class EventResponseDTO {
     private LocalDateTime date;
     private EventMemberDTO.UserSummaryDTO organizer;
     private List<EventMemberDTO> members;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String recurrenceRule;
 
     public EventResponseDTO() {}
 
@@ -39,4 +42,6 @@ public class EventResponseDTO {
     public void setOrganizer(EventMemberDTO.UserSummaryDTO organizer) { this.organizer = organizer; }
     public List<EventMemberDTO> getMembers() { return members; }
     public void setMembers(List<EventMemberDTO> members) { this.members = members; }
+    public String getRecurrenceRule() { return recurrenceRule; }
+    public void setRecurrenceRule(String recurrenceRule) { this.recurrenceRule = recurrenceRule; }
 } 
\ No newline at end of file
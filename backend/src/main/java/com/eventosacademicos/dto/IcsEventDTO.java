@@ -0,0 +1,37 @@
+package com.eventosacademicos.dto;
+
+import com.eventosacademicos.model.EventType;
+import java.time.LocalDateTime;
+
+public class IcsEventDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private EventType eventType;
+    private LocalDateTime date;
+    private Long version;
+    private LocalDateTime updatedAt;
+    private String recurrenceRule;
+
+    // Usado pela projeção JPQL em EventRepository.streamIcsEventsForUser
+    public IcsEventDTO(Long id, String title, String description, EventType eventType, LocalDateTime date,
+                       Long version, LocalDateTime updatedAt, String recurrenceRule) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.eventType = eventType;
+        this.date = date;
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.recurrenceRule = recurrenceRule;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public EventType getEventType() { return eventType; }
+    public LocalDateTime getDate() { return date; }
+    public Long getVersion() { return version; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public String getRecurrenceRule() { return recurrenceRule; }
+}
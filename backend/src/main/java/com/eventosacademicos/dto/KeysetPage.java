@@ -0,0 +1,40 @@
+package com.eventosacademicos.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class KeysetPage<T> {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private Long nextCursor;
+
+    public KeysetPage() {}
+
+    public KeysetPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public static Pageable limit(Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return PageRequest.of(0, size);
+    }
+
+    // O cursor da próxima página é o id do último item, ou null se não houver mais itens
+    public static <E, T> KeysetPage<T> from(Slice<E> slice, Function<E, Long> idOf, Function<E, T> mapper) {
+        List<E> content = slice.getContent();
+        Long nextCursor = slice.hasNext() && !content.isEmpty() ? idOf.apply(content.get(content.size() - 1)) : null;
+        return new KeysetPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
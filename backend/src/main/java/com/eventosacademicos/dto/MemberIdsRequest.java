@@ -0,0 +1,27 @@
+package com.eventosacademicos.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class MemberIdsRequest {
+    
+    @NotNull(message = "Lista de usuários é obrigatória")
+    private List<Long> userIds;
+    
+    // Construtores
+    public MemberIdsRequest() {}
+    
+    public MemberIdsRequest(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+    
+    // Getters e Setters
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+    
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+}
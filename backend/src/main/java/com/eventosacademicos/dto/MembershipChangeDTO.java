@@ -0,0 +1,18 @@
+package com.eventosacademicos.dto;
+
+public class MembershipChangeDTO {
+    private int added;
+    private int removed;
+
+    public MembershipChangeDTO() {}
+
+    public MembershipChangeDTO(int added, int removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public int getAdded() { return added; }
+    public void setAdded(int added) { this.added = added; }
+    public int getRemoved() { return removed; }
+    public void setRemoved(int removed) { this.removed = removed; }
+}
@@ -0,0 +1,47 @@
+package com.eventosacademicos.dto;
+
+import java.time.LocalDateTime;
+
+// Alteração de uma ocorrência de evento recorrente; campos nulos mantêm os da série
+public class OccurrenceRequest {
+    
+    private String title;
+    
+    private String description;
+    
+    private LocalDateTime date;
+    
+    // Construtores
+    public OccurrenceRequest() {}
+    
+    public OccurrenceRequest(String title, String description, LocalDateTime date) {
+        this.title = title;
+        this.description = description;
+        this.date = date;
+    }
+    
+    // Getters e Setters
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public LocalDateTime getDate() {
+        return date;
+    }
+    
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
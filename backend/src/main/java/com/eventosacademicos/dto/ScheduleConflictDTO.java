@@ -0,0 +1,21 @@
+package com.eventosacademicos.dto;
+
+import java.util.List;
+
+// Eventos do calendário de um usuário que se sobrepõem aos horários verificados
+public class ScheduleConflictDTO {
+    private Long userId;
+    private List<ConflictingEventDTO> events;
+
+    public ScheduleConflictDTO() {}
+
+    public ScheduleConflictDTO(Long userId, List<ConflictingEventDTO> events) {
+        this.userId = userId;
+        this.events = events;
+    }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public List<ConflictingEventDTO> getEvents() { return events; }
+    public void setEvents(List<ConflictingEventDTO> events) { this.events = events; }
+}
@@ -0,0 +1,70 @@
+package com.eventosacademicos.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserImportResultDTO {
+    private int imported;
+    private List<RowError> errors = new ArrayList<>();
+    // Importação interrompida (cabeçalho inválido, corpo ilegível, falha do banco): a partir desta linha nada
+    // foi gravado; os blocos anteriores já confirmados estão em imported
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long abortedAtLine;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String abortMessage;
+
+    public UserImportResultDTO() {}
+
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+    public int getFailed() { return errors.size(); }
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+    public Long getAbortedAtLine() { return abortedAtLine; }
+    public void setAbortedAtLine(Long abortedAtLine) { this.abortedAtLine = abortedAtLine; }
+    public String getAbortMessage() { return abortMessage; }
+    public void setAbortMessage(String abortMessage) { this.abortMessage = abortMessage; }
+
+    @JsonIgnore
+    public boolean isAborted() {
+        return abortedAtLine != null;
+    }
+
+    public void addImported(int count) {
+        imported += count;
+    }
+
+    public void abort(long line, String message) {
+        abortedAtLine = line;
+        abortMessage = message;
+    }
+
+    public void addError(long line, String username, String message) {
+        errors.add(new RowError(line, username, message));
+    }
+
+    // Linha do arquivo (a partir de 1, contando o cabeçalho do CSV) que não foi importada
+    public static class RowError {
+        private long line;
+        private String username;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long line, String username, String message) {
+            this.line = line;
+            this.username = username;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
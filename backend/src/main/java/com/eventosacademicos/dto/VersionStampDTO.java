@@ -0,0 +1,35 @@
+package com.eventosacademicos.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Resumo das versões de um conjunto de eventos (quantidade, última alteração e soma das versões).
+ * Muda sempre que um evento do conjunto é criado, alterado ou excluído, e serve de ETag para as listas.
+ */
+public class VersionStampDTO {
+    private long count;
+    private LocalDateTime lastUpdated;
+    private long versionSum;
+
+    public VersionStampDTO() {}
+
+    // Usado pelas projeções JPQL em EventRepository.findVersionStamp*
+    public VersionStampDTO(Long count, LocalDateTime lastUpdated, Long versionSum) {
+        this.count = count != null ? count : 0;
+        this.lastUpdated = lastUpdated;
+        this.versionSum = versionSum != null ? versionSum : 0;
+    }
+
+    public String toETag(String scope) {
+        long updated = lastUpdated != null ? lastUpdated.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return scope + "-" + count + "-" + updated + "-" + versionSum;
+    }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+    public long getVersionSum() { return versionSum; }
+    public void setVersionSum(long versionSum) { this.versionSum = versionSum; }
+}
@@ -0,0 +1,37 @@
+package com.eventosacademicos.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AsyncAppender que nunca bloqueia a thread da requisição: com a fila cheia o evento é descartado
+ * e contado (métrica logging.async.dropped). A contagem é aproximada, já que a fila pode encher
+ * entre a verificação e a inserção. Use com neverBlock=true e discardingThreshold=0.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    private static final AtomicLong dropped = new AtomicLong();
+
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted() && getRemainingCapacity() == 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    public void stop() {
+        if (dropped.get() > 0) {
+            addWarn(dropped.get() + " eventos de log descartados com a fila cheia");
+        }
+        super.stop();
+    }
+}
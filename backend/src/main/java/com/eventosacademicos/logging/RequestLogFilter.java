@@ -0,0 +1,100 @@
+package com.eventosacademicos.logging;
+
+import com.eventosacademicos.config.HibernateRequestStatistics;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+/**
+ * Uma linha por requisição no logger http.request: método, rota, usuário, status, duração e
+ * número de comandos SQL. Com o LogstashEncoder (perfil prod) os campos saem como JSON.
+ *
+ * Também sorteia, no início da requisição, se ela terá os logs DEBUG liberados
+ * (logging.request.debug-sample-rate); o SampledDebugFilter lê a marcação no MDC.
+ */
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String USER_ID_KEY = "userId";
+    public static final String SAMPLED_KEY = "sampled";
+
+    private static final Logger requestLog = LoggerFactory.getLogger("http.request");
+
+    private final double debugSampleRate;
+
+    public RequestLogFilter(double debugSampleRate) {
+        this.debugSampleRate = debugSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        String requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        boolean sampled = debugSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < debugSampleRate;
+        MDC.put(REQUEST_ID_KEY, requestId);
+        if (sampled) {
+            MDC.put(SAMPLED_KEY, "true");
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            String userId = MDC.get(USER_ID_KEY);
+            if (request.isAsyncStarted()) {
+                // Respostas em streaming: registra quando a resposta termina, em outra thread
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        MDC.put(REQUEST_ID_KEY, requestId);
+                        try {
+                            log(request, response, start, userId);
+                        } finally {
+                            MDC.remove(REQUEST_ID_KEY);
+                        }
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {}
+
+                    @Override
+                    public void onError(AsyncEvent event) {}
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {}
+                });
+            } else {
+                log(request, response, start, userId);
+            }
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(USER_ID_KEY);
+            MDC.remove(SAMPLED_KEY);
+        }
+    }
+
+    private static void log(HttpServletRequest request, HttpServletResponse response, long start, String userId) {
+        if (!requestLog.isInfoEnabled()) {
+            return;
+        }
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        requestLog.info("{} {} {} {} {} {}",
+                keyValue("method", request.getMethod()),
+                keyValue("route", route != null ? route : request.getRequestURI()),
+                keyValue("status", response.getStatus()),
+                keyValue("durationMs", (System.nanoTime() - start) / 1_000_000),
+                keyValue("userId", userId),
+                keyValue("queries", request.getAttribute(HibernateRequestStatistics.STATEMENTS_ATTRIBUTE)));
+    }
+}
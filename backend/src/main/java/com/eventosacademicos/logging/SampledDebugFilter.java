@@ -0,0 +1,35 @@
+package com.eventosacademicos.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Libera os logs DEBUG/TRACE dos loggers configurados apenas nas requisições sorteadas pelo
+ * RequestLogFilter, mesmo com o nível do logger em INFO. Nas demais a decisão fica com o nível.
+ */
+public class SampledDebugFilter extends TurboFilter {
+
+    private String[] loggers = {"com.eventosacademicos"};
+
+    // Prefixos de nomes de logger separados por vírgula
+    public void setLoggers(String loggers) {
+        this.loggers = loggers.split("\\s*,\\s*");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO) || MDC.get(RequestLogFilter.SAMPLED_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        for (String prefix : loggers) {
+            if (logger.getName().startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,22 @@
+package com.eventosacademicos.model;
+
+/**
+ * Regiões do cache de segundo nível (tamanho e TTL em hibernate-cache.conf).
+ *
+ * As atualizações nativas em lote (@Modifying com nativeQuery) declaram as tabelas que alteram
+ * pela dica HibernateHints.HINT_NATIVE_SPACES; sem ela o Hibernate esvazia todas as regiões a
+ * cada comando. {@link #NO_CACHED_DATA} é usado quando a tabela tem cache, mas as colunas alteradas
+ * não são lidas pela entidade ou a remoção é feita pontualmente pelo serviço (ver EventService.touch).
+ */
+public final class CacheRegions {
+
+    public static final String USERS = "users";
+    public static final String EVENTS = "events";
+    public static final String EVENT_MEMBERS = "event-members";
+    public static final String EVENT_MEMBER_SETS = "event-member-sets";
+    public static final String EVENT_QUERIES = "event-queries";
+
+    public static final String NO_CACHED_DATA = "no_cached_data";
+
+    private CacheRegions() {}
+}
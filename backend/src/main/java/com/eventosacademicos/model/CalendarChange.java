@@ -0,0 +1,39 @@
+package com.eventosacademicos.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Uma transação de escrita no calendário. Criada no início da transação, sem sequência; a sequência
+ * é atribuída imediatamente antes do commit (ver CalendarChangeService). Linhas sem sequência
+ * nunca ficam visíveis para as consultas de sincronização.
+ */
+@Entity
+@Table(name = "calendar_changes")
+public class CalendarChange {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    private Long seq;
+    
+    // Construtores
+    public CalendarChange() {}
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventosacademicos.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Linha única (id = 1) com a última sequência de alteração do calendário e a sequência até a qual
+ * os tombstones já foram compactados. Tokens anteriores a {@code compactedSeq} exigem sincronização completa.
+ */
+@Entity
+@Table(name = "calendar_change_sequence")
+public class CalendarChangeSequence {
+    
+    public static final int SINGLETON_ID = 1;
+    
+    @Id
+    private Integer id;
+    
+    @Column(name = "current_seq", nullable = false)
+    private Long currentSeq;
+    
+    @Column(name = "compacted_seq", nullable = false)
+    private Long compactedSeq;
+    
+    // Construtores
+    public CalendarChangeSequence() {}
+    
+    // Getters e Setters
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public Long getCurrentSeq() {
+        return currentSeq;
+    }
+    
+    public void setCurrentSeq(Long currentSeq) {
+        this.currentSeq = currentSeq;
+    }
+    
+    public Long getCompactedSeq() {
+        return compactedSeq;
+    }
+    
+    public void setCompactedSeq(Long compactedSeq) {
+        this.compactedSeq = compactedSeq;
+    }
+}
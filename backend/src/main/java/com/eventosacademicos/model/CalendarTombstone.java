@@ -0,0 +1,96 @@
+package com.eventosacademicos.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de que o evento saiu do calendário do usuário (evento excluído ou participação removida).
+ * Gravado por {@code UserCalendarService} antes de apagar as linhas de user_calendar e removido
+ * pela compactação depois do período de retenção.
+ */
+@Entity
+@Table(name = "calendar_tombstones",
+       indexes = {
+           @Index(name = "idx_calendar_tombstones_user_change", columnList = "user_id, change_id"),
+           @Index(name = "idx_calendar_tombstones_created", columnList = "created_at")
+       })
+public class CalendarTombstone {
+    
+    public enum Reason {
+        EVENT_DELETED,
+        MEMBERSHIP_REMOVED
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Reason reason;
+    
+    @Column(name = "change_id", nullable = false)
+    private Long changeId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Construtores
+    public CalendarTombstone() {}
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public Reason getReason() {
+        return reason;
+    }
+    
+    public void setReason(Reason reason) {
+        this.reason = reason;
+    }
+    
+    public Long getChangeId() {
+        return changeId;
+    }
+    
+    public void setChangeId(Long changeId) {
+        this.changeId = changeId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,10 +1,15 @@
 package com.eventosacademicos.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -12,6 +17,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "events")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EVENTS)
 public class Event {
     
     @Id
@@ -33,12 +39,46 @@ public class Event {
     @Column(nullable = false)
     private LocalDateTime date;
     
+    // Incrementada a cada alteração do evento ou de seus membros; base do ETag de /api/events/{id}
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Regra de recorrência (subconjunto da RRULE, ver RecurrenceRule); nula para eventos únicos.
+    // As ocorrências não são gravadas: são expandidas só dentro da janela consultada
+    @Column(name = "recurrence_rule")
+    private String recurrenceRule;
+    
+    // Início da última ocorrência da série, incluindo as remarcadas (event_overrides); as consultas
+    // por intervalo descartam por ela as séries já encerradas
+    @Column(name = "recurrence_end")
+    @JsonIgnore
+    private LocalDateTime recurrenceEnd;
+    
+    // Data original da ocorrência nas cópias devolvidas pela expansão de uma série; nula no evento gravado
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime occurrenceDate;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Última alteração do evento ou da contagem de membros (calendar_changes, ver CalendarChangeService).
+    // Só é gravada pelas atualizações em lote do EventRepository, nunca pelo UPDATE da entidade, e só
+    // é lida por consulta: o valor na entidade em cache pode estar atrasado
+    @Column(name = "change_id", updatable = false)
+    @JsonIgnore
+    private Long changeId;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     @JsonBackReference
     private User createdBy;
     
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EVENT_MEMBER_SETS)
     @JsonManagedReference
     private Set<EventMember> members = new HashSet<>();
     
@@ -53,6 +93,30 @@ public class Event {
         this.createdBy = createdBy;
     }
     
+    /**
+     * Cópia não gerenciada representando uma ocorrência da série, com os campos da exceção
+     * (se houver) no lugar dos da série. Mesmo id, membros e organizador do evento gravado.
+     */
+    public Event toOccurrence(LocalDateTime occurrence, EventOverride override) {
+        Event copy = new Event(title, description, eventType, occurrence, createdBy);
+        copy.id = id;
+        copy.version = version;
+        copy.updatedAt = updatedAt;
+        copy.recurrenceRule = recurrenceRule;
+        copy.members = members;
+        copy.occurrenceDate = occurrence;
+        if (override != null) {
+            copy.date = override.getEffectiveDate();
+            if (override.getTitle() != null) {
+                copy.title = override.getTitle();
+            }
+            if (override.getDescription() != null) {
+                copy.description = override.getDescription();
+            }
+        }
+        return copy;
+    }
+    
     // Getters e Setters
     public Long getId() {
         return id;
@@ -94,6 +158,50 @@ public class Event {
         this.date = date;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public String getRecurrenceRule() {
+        return recurrenceRule;
+    }
+    
+    public void setRecurrenceRule(String recurrenceRule) {
+        this.recurrenceRule = recurrenceRule;
+    }
+    
+    public LocalDateTime getRecurrenceEnd() {
+        return recurrenceEnd;
+    }
+    
+    public void setRecurrenceEnd(LocalDateTime recurrenceEnd) {
+        this.recurrenceEnd = recurrenceEnd;
+    }
+    
+    public LocalDateTime getOccurrenceDate() {
+        return occurrenceDate;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getChangeId() {
+        return changeId;
+    }
+    
+    public void setChangeId(Long changeId) {
+        this.changeId = changeId;
+    }
+    
     public User getCreatedBy() {
         return createdBy;
     }
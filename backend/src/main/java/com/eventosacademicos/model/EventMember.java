@@ -2,9 +2,13 @@ package com.eventosacademicos.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "event_members")
+@Table(name = "event_members",
+       uniqueConstraints = @UniqueConstraint(name = "uk_event_members_event_user", columnNames = {"event_id", "user_id"}))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EVENT_MEMBERS)
 public class EventMember {
     
     @Id
@@ -0,0 +1,115 @@
+package com.eventosacademicos.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exceção de uma ocorrência de evento recorrente, identificada pela data original da ocorrência:
+ * cancelada (EXDATE) ou com título, descrição ou data próprios. Campos nulos herdam os da série.
+ */
+@Entity
+@Table(name = "event_overrides",
+       uniqueConstraints = @UniqueConstraint(name = "uk_event_overrides_occurrence", columnNames = {"event_id", "occurrence_date"}))
+public class EventOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JsonIgnore
+    private Event event;
+
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDateTime occurrenceDate;
+
+    @Column(nullable = false)
+    private boolean cancelled;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private LocalDateTime date;
+
+    // Construtores
+    public EventOverride() {}
+
+    public EventOverride(Event event, LocalDateTime occurrenceDate) {
+        this.event = event;
+        this.occurrenceDate = occurrenceDate;
+    }
+
+    // Data em que a ocorrência acontece de fato
+    public LocalDateTime getEffectiveDate() {
+        return date != null ? date : occurrenceDate;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public Long getEventId() {
+        return event.getId();
+    }
+
+    public LocalDateTime getOccurrenceDate() {
+        return occurrenceDate;
+    }
+
+    public void setOccurrenceDate(LocalDateTime occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDateTime date) {
+        this.date = date;
+    }
+}
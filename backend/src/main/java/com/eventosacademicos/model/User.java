@@ -1,16 +1,20 @@
 package com.eventosacademicos.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
 public class User {
     
     @Id
@@ -47,6 +51,22 @@ public class User {
     @Column(nullable = false)
     private boolean approved = false;
     
+    // Incrementada para revogar todos os tokens JWT já emitidos para o usuário
+    @Column(name = "token_epoch", nullable = false)
+    private int tokenEpoch = 0;
+    
+    // Versão do calendário do usuário (ETag de GET /api/events). Só é alterada por
+    // UPDATE em lote (UserRepository), por isso não entra nos UPDATEs da entidade; é lida só por
+    // consulta (findCalendarVersionById), então o valor na entidade em cache pode estar atrasado
+    @JsonIgnore
+    @Column(name = "calendar_version", nullable = false, updatable = false)
+    private long calendarVersion = 0;
+    
+    // SHA-256 do token do feed iCalendar (ver UserService.issueFeedToken); null sem feed ativo
+    @JsonIgnore
+    @Column(name = "feed_token_hash", unique = true, length = 64)
+    private String feedTokenHash;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
     @JsonManagedReference
     private Set<EventMember> eventMemberships = new HashSet<>();
@@ -133,6 +153,30 @@ public class User {
         this.approved = approved;
     }
     
+    public int getTokenEpoch() {
+        return tokenEpoch;
+    }
+    
+    public void setTokenEpoch(int tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+    
+    public long getCalendarVersion() {
+        return calendarVersion;
+    }
+    
+    public void setCalendarVersion(long calendarVersion) {
+        this.calendarVersion = calendarVersion;
+    }
+    
+    public String getFeedTokenHash() {
+        return feedTokenHash;
+    }
+    
+    public void setFeedTokenHash(String feedTokenHash) {
+        this.feedTokenHash = feedTokenHash;
+    }
+    
     public Set<EventMember> getEventMemberships() {
         return eventMemberships;
     }
@@ -0,0 +1,73 @@
+package com.eventosacademicos.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do modelo de leitura do calendário: o evento aparece no calendário do usuário
+ * porque ele é o organizador ou membro. Mantida por {@code UserCalendarService}.
+ */
+@Entity
+@Table(name = "user_calendar",
+       indexes = @Index(name = "idx_user_calendar_user_date", columnList = "user_id, event_date, event_id"))
+@IdClass(UserCalendarEntryId.class)
+public class UserCalendarEntry {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    
+    @Column(name = "event_date", nullable = false)
+    private LocalDateTime eventDate;
+    
+    // Alteração (calendar_changes) em que o evento entrou no calendário do usuário
+    @Column(name = "change_id")
+    private Long changeId;
+    
+    // Construtores
+    public UserCalendarEntry() {}
+    
+    public UserCalendarEntry(Long userId, Long eventId, LocalDateTime eventDate) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.eventDate = eventDate;
+    }
+    
+    // Getters e Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+    
+    public void setEventDate(LocalDateTime eventDate) {
+        this.eventDate = eventDate;
+    }
+    
+    public Long getChangeId() {
+        return changeId;
+    }
+    
+    public void setChangeId(Long changeId) {
+        this.changeId = changeId;
+    }
+}
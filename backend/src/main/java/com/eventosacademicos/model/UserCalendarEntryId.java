@@ -0,0 +1,48 @@
+package com.eventosacademicos.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class UserCalendarEntryId implements Serializable {
+    
+    private Long userId;
+    private Long eventId;
+    
+    // Construtores
+    public UserCalendarEntryId() {}
+    
+    public UserCalendarEntryId(Long userId, Long eventId) {
+        this.userId = userId;
+        this.eventId = eventId;
+    }
+    
+    // Getters e Setters
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserCalendarEntryId)) return false;
+        UserCalendarEntryId that = (UserCalendarEntryId) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(eventId, that.eventId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, eventId);
+    }
+}
@@ -0,0 +1,33 @@
+package com.eventosacademicos.repository;
+
+import com.eventosacademicos.model.CalendarChange;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CalendarChangeRepository extends JpaRepository<CalendarChange, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CalendarChange c SET c.seq = :seq WHERE c.id = :id")
+    int assignSeq(@Param("id") Long id, @Param("seq") Long seq);
+
+    /**
+     * Alterações já compactadas que nenhum evento, entrada de calendário ou tombstone referencia. Depois
+     * de confirmada, uma alteração não ganha novas referências (só a transação que a criou a usa), então
+     * o que sai daqui não volta a ser necessário. Cada NOT IN é uma varredura única (antijoin), sem
+     * índices em change_id, que pesariam nas escritas.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_changes"))
+    @Query(value = "DELETE FROM calendar_changes WHERE seq <= :seq " +
+                   "AND id NOT IN (SELECT e.change_id FROM events e WHERE e.change_id IS NOT NULL) " +
+                   "AND id NOT IN (SELECT uc.change_id FROM user_calendar uc WHERE uc.change_id IS NOT NULL) " +
+                   "AND id NOT IN (SELECT t.change_id FROM calendar_tombstones t)", nativeQuery = true)
+    int deleteUnreferencedUpTo(@Param("seq") Long seq);
+}
@@ -0,0 +1,40 @@
+package com.eventosacademicos.repository;
+
+import com.eventosacademicos.model.CalendarChangeSequence;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CalendarChangeSequenceRepository extends JpaRepository<CalendarChangeSequence, Integer> {
+
+    // Trava a linha até o fim da transação: as sequências são confirmadas na ordem em que foram geradas.
+    // Chamado só no beforeCommit, para segurar a trava o mínimo possível
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CalendarChangeSequence s SET s.currentSeq = s.currentSeq + 1 WHERE s.id = 1")
+    int increment();
+
+    // Bancos criados pelo Hibernate (perfis H2) não têm a linha inserida pela migração
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_change_sequence"))
+    @Query(value = "INSERT INTO calendar_change_sequence (id, current_seq, compacted_seq) VALUES (1, 1, 0)",
+           nativeQuery = true)
+    int insertInitial();
+
+    @Query("SELECT s.currentSeq FROM CalendarChangeSequence s WHERE s.id = 1")
+    Optional<Long> findCurrentSeq();
+
+    @Query("SELECT s.compactedSeq FROM CalendarChangeSequence s WHERE s.id = 1")
+    Optional<Long> findCompactedSeq();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CalendarChangeSequence s SET s.compactedSeq = :seq WHERE s.id = 1 AND s.compactedSeq < :seq")
+    int advanceCompactedSeq(@Param("seq") Long seq);
+}
@@ -0,0 +1,91 @@
+package com.eventosacademicos.repository;
+
+import com.eventosacademicos.dto.CalendarTombstoneDTO;
+import com.eventosacademicos.model.CalendarTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Os tombstones são gravados a partir de user_calendar antes das remoções correspondentes,
+ * com as mesmas condições das consultas de UserCalendarRepository (o organizador mantém o evento).
+ */
+@Repository
+public interface CalendarTombstoneRepository extends JpaRepository<CalendarTombstone, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_tombstones"))
+    @Query(value = "INSERT INTO calendar_tombstones (user_id, event_id, reason, change_id, created_at) " +
+                   "SELECT uc.user_id, uc.event_id, 'EVENT_DELETED', :changeId, :now FROM user_calendar uc " +
+                   "WHERE uc.event_id = :eventId", nativeQuery = true)
+    int insertForEvent(@Param("eventId") Long eventId, @Param("changeId") Long changeId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_tombstones"))
+    @Query(value = "INSERT INTO calendar_tombstones (user_id, event_id, reason, change_id, created_at) " +
+                   "SELECT uc.user_id, uc.event_id, 'MEMBERSHIP_REMOVED', :changeId, :now FROM user_calendar uc " +
+                   "JOIN events e ON e.id = uc.event_id " +
+                   "WHERE uc.event_id = :eventId AND uc.user_id IN (:userIds) AND uc.user_id <> e.created_by",
+           nativeQuery = true)
+    int insertForMembers(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds,
+                         @Param("changeId") Long changeId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_tombstones"))
+    @Query(value = "INSERT INTO calendar_tombstones (user_id, event_id, reason, change_id, created_at) " +
+                   "SELECT uc.user_id, uc.event_id, 'MEMBERSHIP_REMOVED', :changeId, :now FROM user_calendar uc " +
+                   "JOIN events e ON e.id = uc.event_id " +
+                   "WHERE uc.event_id = :eventId AND uc.user_id NOT IN (:userIds) AND uc.user_id <> e.created_by",
+           nativeQuery = true)
+    int insertForMembersNotIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds,
+                              @Param("changeId") Long changeId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_tombstones"))
+    @Query(value = "INSERT INTO calendar_tombstones (user_id, event_id, reason, change_id, created_at) " +
+                   "SELECT uc.user_id, uc.event_id, 'MEMBERSHIP_REMOVED', :changeId, :now FROM user_calendar uc " +
+                   "JOIN events e ON e.id = uc.event_id " +
+                   "WHERE uc.event_id = :eventId AND uc.user_id <> e.created_by", nativeQuery = true)
+    int insertForAllMembers(@Param("eventId") Long eventId, @Param("changeId") Long changeId, @Param("now") LocalDateTime now);
+
+    // Eventos organizados por um usuário que será excluído, no calendário dos demais
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_tombstones"))
+    @Query(value = "INSERT INTO calendar_tombstones (user_id, event_id, reason, change_id, created_at) " +
+                   "SELECT uc.user_id, uc.event_id, 'EVENT_DELETED', :changeId, :now FROM user_calendar uc " +
+                   "JOIN events e ON e.id = uc.event_id " +
+                   "WHERE e.created_by = :userId AND uc.user_id <> :userId", nativeQuery = true)
+    int insertForEventsOrganizedBy(@Param("userId") Long userId, @Param("changeId") Long changeId, @Param("now") LocalDateTime now);
+
+    // Antes de reconstruir o calendário do usuário; as entradas reinseridas anulam o tombstone
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "calendar_tombstones"))
+    @Query(value = "INSERT INTO calendar_tombstones (user_id, event_id, reason, change_id, created_at) " +
+                   "SELECT uc.user_id, uc.event_id, 'MEMBERSHIP_REMOVED', :changeId, :now FROM user_calendar uc " +
+                   "WHERE uc.user_id = :userId", nativeQuery = true)
+    int insertForUser(@Param("userId") Long userId, @Param("changeId") Long changeId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.eventosacademicos.dto.CalendarTombstoneDTO(t.eventId, t.reason) " +
+           "FROM CalendarTombstone t JOIN CalendarChange c ON c.id = t.changeId " +
+           "WHERE t.userId = :userId AND c.seq > :since AND c.seq <= :until ORDER BY c.seq")
+    List<CalendarTombstoneDTO> findForUser(@Param("userId") Long userId, @Param("since") Long since,
+                                           @Param("until") Long until);
+
+    @Query("SELECT MAX(c.seq) FROM CalendarTombstone t JOIN CalendarChange c ON c.id = t.changeId " +
+           "WHERE t.createdAt < :cutoff")
+    Optional<Long> findMaxSeqCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CalendarTombstone t WHERE t.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,11 +1,19 @@
 package com.eventosacademicos.repository;
 
+import com.eventosacademicos.model.CacheRegions;
 import com.eventosacademicos.model.Event;
 import com.eventosacademicos.model.EventMember;
 import com.eventosacademicos.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +22,16 @@ public interface EventMemberRepository extends JpaRepository<EventMember, Long>
     
     List<EventMember> findByEvent(Event event);
     
+    @Query("SELECT em FROM EventMember em JOIN FETCH em.user WHERE em.event.id = :eventId ORDER BY em.id")
+    List<EventMember> findWithUserByEventId(@Param("eventId") Long eventId);
+    
+    @Query("SELECT em.event.id FROM EventMember em WHERE em.user.id = :userId")
+    List<Long> findEventIdsByUserId(@Param("userId") Long userId);
+    
+    // Quais dos usuários informados são membros do evento (antes e depois das alterações em lote)
+    @Query("SELECT em.user.id FROM EventMember em WHERE em.event.id = :eventId AND em.user.id IN :userIds")
+    List<Long> findMemberIdsIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
     List<EventMember> findByUser(User user);
     
     Optional<EventMember> findByEventAndUser(Event event, User user);
@@ -21,4 +39,28 @@ public interface EventMemberRepository extends JpaRepository<EventMember, Long>
     boolean existsByEventAndUser(Event event, User user);
     
     void deleteByEventAndUser(Event event, User user);
+    
+    // Um único INSERT para o conjunto inteiro; ids inexistentes são filtrados pelo SELECT
+    // e associações já existentes são ignoradas pelo índice único (event_id, user_id).
+    // Estes comandos não invalidam o cache: EventService.touch remove o conjunto de membros do evento
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "INSERT IGNORE INTO event_members (event_id, user_id) " +
+                   "SELECT :eventId, u.id FROM users u WHERE u.id IN (:userIds)", nativeQuery = true)
+    int insertMembers(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "DELETE FROM event_members WHERE event_id = :eventId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteMembers(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "DELETE FROM event_members WHERE event_id = :eventId AND user_id NOT IN (:userIds)", nativeQuery = true)
+    int deleteMembersNotIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "DELETE FROM event_members WHERE event_id = :eventId", nativeQuery = true)
+    int deleteAllMembers(@Param("eventId") Long eventId);
 } 
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.eventosacademicos.repository;
+
+import com.eventosacademicos.model.EventOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventOverrideRepository extends JpaRepository<EventOverride, Long> {
+
+    @Query("SELECT o FROM EventOverride o WHERE o.event.id = :eventId AND o.occurrenceDate = :occurrenceDate")
+    Optional<EventOverride> findByEventIdAndOccurrenceDate(@Param("eventId") Long eventId,
+                                                           @Param("occurrenceDate") LocalDateTime occurrenceDate);
+
+    // Todas as exceções das séries de uma janela: no máximo uma por ocorrência
+    @Query("SELECT o FROM EventOverride o WHERE o.event.id IN :eventIds")
+    List<EventOverride> findByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+
+    // Exceções das séries do calendário do usuário, para o feed iCalendar
+    @Query("SELECT o FROM EventOverride o WHERE o.event.id IN " +
+           "(SELECT uc.eventId FROM UserCalendarEntry uc WHERE uc.userId = :userId)")
+    List<EventOverride> findForUserCalendar(@Param("userId") Long userId);
+
+    // Ocorrência remarcada mais tarde; entra no recurrence_end da série
+    @Query("SELECT MAX(o.date) FROM EventOverride o WHERE o.event.id = :eventId AND o.cancelled = false")
+    Optional<LocalDateTime> findLatestDate(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM EventOverride o WHERE o.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
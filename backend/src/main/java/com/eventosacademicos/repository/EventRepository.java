@@ -1,31 +1,204 @@
 package com.eventosacademicos.repository;
 
+import com.eventosacademicos.dto.CalendarEventDTO;
+import com.eventosacademicos.dto.ConflictingEventDTO;
+import com.eventosacademicos.dto.IcsEventDTO;
+import com.eventosacademicos.dto.VersionStampDTO;
+import com.eventosacademicos.model.CacheRegions;
 import com.eventosacademicos.model.Event;
 import com.eventosacademicos.model.EventType;
 import com.eventosacademicos.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     
+    // Organizador, membros e usuários dos membros em uma única consulta
+    @EntityGraph(attributePaths = {"createdBy", "members", "members.user"})
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findWithMembersAndUsersById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = {"createdBy", "members", "members.user"})
+    @Query("SELECT DISTINCT e FROM Event e WHERE e.id IN :ids ORDER BY e.date, e.id")
+    List<Event> findWithMembersAndUsersByIdIn(@Param("ids") Collection<Long> ids);
+    
     List<Event> findByCreatedBy(User createdBy);
     
+    // Consultas baratas usadas para responder If-None-Match sem carregar os eventos
+    @Query("SELECT e.version FROM Event e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT new com.eventosacademicos.dto.VersionStampDTO(COUNT(e), MAX(e.updatedAt), SUM(e.version)) FROM Event e")
+    VersionStampDTO findVersionStamp();
+    
+    @Query("SELECT new com.eventosacademicos.dto.VersionStampDTO(COUNT(e), MAX(e.updatedAt), SUM(e.version)) " +
+           "FROM Event e WHERE e.eventType IN :types")
+    VersionStampDTO findVersionStampByEventTypeIn(@Param("types") Collection<EventType> types);
+    
+    // Alterações nos membros não passam pela entidade: a versão é incrementada em lote. Nativo para
+    // não esvaziar a região dos eventos; EventService.touch remove do cache só este evento
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "UPDATE events SET version = version + 1, updated_at = :now WHERE id = :id", nativeQuery = true)
+    int touch(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.version = e.version + 1, e.updatedAt = :now " +
+           "WHERE e.id IN (SELECT m.event.id FROM EventMember m WHERE m.user.id = :userId)")
+    int touchEventsWithMember(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    // change_id não é lido pela entidade: o cache dos eventos não precisa ser invalidado
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "UPDATE events SET change_id = :changeId WHERE id = :id", nativeQuery = true)
+    int markChanged(@Param("id") Long id, @Param("changeId") Long changeId);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.changeId = :changeId " +
+           "WHERE e.id IN (SELECT m.event.id FROM EventMember m WHERE m.user.id = :userId)")
+    int markChangedWithMember(@Param("userId") Long userId, @Param("changeId") Long changeId);
+    
+    // Paginação por chave: WHERE id > :after ORDER BY id LIMIT n, sem OFFSET
+    Slice<Event> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e ORDER BY e.id")
+    Stream<Event> streamAllOrderedById();
+    
+    // Consultas das listagens no cache de consultas: invalidadas quando events ou users mudam pelo Hibernate
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EVENT_QUERIES)
+    })
     List<Event> findByEventType(EventType eventType);
     
-    List<Event> findByDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    // Eventos únicos no intervalo; as séries vêm de findSeriesBetween
+    List<Event> findByDateBetweenAndRecurrenceRuleIsNull(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Séries com alguma ocorrência possível em [from, to]
+    @Query("SELECT e FROM Event e WHERE e.recurrenceRule IS NOT NULL AND e.recurrenceEnd >= :from AND e.date <= :to")
+    List<Event> findSeriesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
     
     @Query("SELECT e FROM Event e WHERE e.createdBy.id = :userId OR e.id IN (SELECT em.event.id FROM EventMember em WHERE em.user.id = :userId)")
     List<Event> findEventsForUser(@Param("userId") Long userId);
     
+    // Lido do modelo user_calendar: varredura de intervalo em (user_id, event_date)
+    @Query("SELECT e FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId " +
+           "WHERE uc.userId = :userId ORDER BY uc.eventDate, uc.eventId")
+    List<Event> findCalendarEventsForUser(@Param("userId") Long userId);
+    
+    @Query("SELECT e.id FROM Event e WHERE e.createdBy.id = :userId")
+    List<Long> findIdsByCreatedById(@Param("userId") Long userId);
+    
+    // Séries do calendário do usuário, que o índice em memória não guarda
+    @Query("SELECT e FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId " +
+           "WHERE uc.userId = :userId AND e.recurrenceRule IS NOT NULL")
+    List<Event> findCalendarSeriesMastersForUser(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.eventosacademicos.dto.CalendarEventDTO(e.id, e.title, e.eventType, e.date, c.id, c.username, " +
+           "(SELECT COUNT(m) FROM EventMember m WHERE m.event = e), e.recurrenceRule) " +
+           "FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId JOIN e.createdBy c " +
+           "WHERE uc.userId = :userId AND uc.eventDate >= :from AND uc.eventDate < :to AND e.recurrenceRule IS NULL " +
+           "ORDER BY uc.eventDate, uc.eventId")
+    List<CalendarEventDTO> findCalendarFeedForUser(@Param("userId") Long userId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+    
+    // Séries do calendário do usuário com alguma ocorrência possível em [from, to), expandidas pelo EventService
+    @Query("SELECT new com.eventosacademicos.dto.CalendarEventDTO(e.id, e.title, e.eventType, e.date, c.id, c.username, " +
+           "(SELECT COUNT(m) FROM EventMember m WHERE m.event = e), e.recurrenceRule) " +
+           "FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId JOIN e.createdBy c " +
+           "WHERE uc.userId = :userId AND e.recurrenceRule IS NOT NULL AND e.recurrenceEnd >= :from AND e.date < :to")
+    List<CalendarEventDTO> findCalendarSeriesForUser(@Param("userId") Long userId,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
+    
+    // Eventos únicos dos calendários dos usuários começando em [from, to): faixa em idx_user_calendar_user_date por usuário
+    @Query("SELECT new com.eventosacademicos.dto.ConflictingEventDTO(uc.userId, e.id, e.title, e.eventType, e.date, e.recurrenceRule) " +
+           "FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId " +
+           "WHERE uc.userId IN :userIds AND uc.eventDate >= :from AND uc.eventDate < :to " +
+           "AND e.recurrenceRule IS NULL AND e.eventType IN :types")
+    List<ConflictingEventDTO> findConflictCandidates(@Param("userIds") Collection<Long> userIds,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to,
+                                                     @Param("types") Collection<EventType> types);
+    
+    // Séries dos calendários dos usuários com alguma ocorrência possível em [from, to)
+    @Query("SELECT new com.eventosacademicos.dto.ConflictingEventDTO(uc.userId, e.id, e.title, e.eventType, e.date, e.recurrenceRule) " +
+           "FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId " +
+           "WHERE uc.userId IN :userIds AND e.recurrenceRule IS NOT NULL AND e.recurrenceEnd >= :from AND e.date < :to " +
+           "AND e.eventType IN :types")
+    List<ConflictingEventDTO> findConflictSeries(@Param("userIds") Collection<Long> userIds,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("types") Collection<EventType> types);
+    
+    @Query("SELECT new com.eventosacademicos.dto.CalendarEventDTO(e.id, e.title, e.eventType, e.date, c.id, c.username, " +
+           "(SELECT COUNT(m) FROM EventMember m WHERE m.event = e), e.recurrenceRule) " +
+           "FROM Event e JOIN e.createdBy c WHERE e.id = :id")
+    Optional<CalendarEventDTO> findCalendarSummaryById(@Param("id") Long id);
+    
+    // Sincronização por delta: eventos alterados ou que entraram no calendário do usuário em (since, until]
+    @Query("SELECT new com.eventosacademicos.dto.CalendarEventDTO(e.id, e.title, e.eventType, e.date, c.id, c.username, " +
+           "(SELECT COUNT(m) FROM EventMember m WHERE m.event = e), e.recurrenceRule) " +
+           "FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId JOIN e.createdBy c " +
+           "LEFT JOIN CalendarChange ec ON ec.id = e.changeId LEFT JOIN CalendarChange ucc ON ucc.id = uc.changeId " +
+           "WHERE uc.userId = :userId AND ((ec.seq > :since AND ec.seq <= :until) " +
+           "OR (ucc.seq > :since AND ucc.seq <= :until)) " +
+           "ORDER BY uc.eventDate, uc.eventId")
+    List<CalendarEventDTO> findCalendarChangesForUser(@Param("userId") Long userId,
+                                                      @Param("since") Long since,
+                                                      @Param("until") Long until);
+    
+    @Query("SELECT new com.eventosacademicos.dto.CalendarEventDTO(e.id, e.title, e.eventType, e.date, c.id, c.username, " +
+           "(SELECT COUNT(m) FROM EventMember m WHERE m.event = e), e.recurrenceRule) " +
+           "FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId JOIN e.createdBy c " +
+           "WHERE uc.userId = :userId ORDER BY uc.eventDate, uc.eventId")
+    List<CalendarEventDTO> findCalendarSnapshotForUser(@Param("userId") Long userId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.eventosacademicos.dto.CalendarEventDTO(e.id, e.title, e.eventType, e.date, c.id, c.username, " +
+           "(SELECT COUNT(m) FROM EventMember m WHERE m.event = e), e.recurrenceRule) " +
+           "FROM Event e JOIN e.createdBy c ORDER BY e.id")
+    Stream<CalendarEventDTO> streamCalendarSummaries();
+    
+    // Feed iCalendar: lido por cursor do modelo user_calendar, sem montar a lista em memória
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.eventosacademicos.dto.IcsEventDTO(e.id, e.title, e.description, e.eventType, e.date, " +
+           "e.version, e.updatedAt, e.recurrenceRule) FROM UserCalendarEntry uc JOIN Event e ON e.id = uc.eventId " +
+           "WHERE uc.userId = :userId ORDER BY uc.eventDate, uc.eventId")
+    Stream<IcsEventDTO> streamIcsEventsForUser(@Param("userId") Long userId);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EVENT_QUERIES)
+    })
     @Query("SELECT e FROM Event e WHERE e.eventType IN ('PROVA', 'TRABALHO') AND e.createdBy.userType = 'PROFESSOR'")
     List<Event> findAcademicEvents();
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EVENT_QUERIES)
+    })
     @Query("SELECT e FROM Event e WHERE e.eventType = 'FESTA' AND e.createdBy.userType = 'ALUNO'")
     List<Event> findPartyEvents();
 } 
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.eventosacademicos.repository;
+
+import com.eventosacademicos.model.UserCalendarEntry;
+import com.eventosacademicos.model.UserCalendarEntryId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface UserCalendarRepository extends JpaRepository<UserCalendarEntry, UserCalendarEntryId> {
+
+    @Query("SELECT uc.userId FROM UserCalendarEntry uc WHERE uc.eventId = :eventId")
+    List<Long> findUserIdsByEventId(@Param("eventId") Long eventId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT uc.eventId, uc.userId FROM UserCalendarEntry uc")
+    Stream<Object[]> streamAllEntries();
+
+    // Organizador e membros atuais do evento
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_calendar"))
+    @Query(value = "INSERT IGNORE INTO user_calendar (user_id, event_id, event_date, change_id) " +
+                   "SELECT e.created_by, e.id, e.date, :changeId FROM events e WHERE e.id = :eventId " +
+                   "UNION SELECT em.user_id, e.id, e.date, :changeId FROM event_members em JOIN events e ON e.id = em.event_id " +
+                   "WHERE em.event_id = :eventId", nativeQuery = true)
+    int insertForEvent(@Param("eventId") Long eventId, @Param("changeId") Long changeId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_calendar"))
+    @Query(value = "INSERT IGNORE INTO user_calendar (user_id, event_id, event_date, change_id) " +
+                   "SELECT em.user_id, e.id, e.date, :changeId FROM event_members em JOIN events e ON e.id = em.event_id " +
+                   "WHERE em.event_id = :eventId AND em.user_id IN (:userIds)", nativeQuery = true)
+    int insertMembers(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds, @Param("changeId") Long changeId);
+
+    // O organizador continua com o evento no calendário mesmo deixando de ser membro
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserCalendarEntry uc WHERE uc.eventId = :eventId AND uc.userId IN :userIds " +
+           "AND uc.userId <> (SELECT e.createdBy.id FROM Event e WHERE e.id = :eventId)")
+    int deleteMembers(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserCalendarEntry uc WHERE uc.eventId = :eventId AND uc.userId NOT IN :userIds " +
+           "AND uc.userId <> (SELECT e.createdBy.id FROM Event e WHERE e.id = :eventId)")
+    int deleteMembersNotIn(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserCalendarEntry uc WHERE uc.eventId = :eventId " +
+           "AND uc.userId <> (SELECT e.createdBy.id FROM Event e WHERE e.id = :eventId)")
+    int deleteAllMembers(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserCalendarEntry uc WHERE uc.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserCalendarEntry uc SET uc.eventDate = :date WHERE uc.eventId = :eventId")
+    int updateEventDate(@Param("eventId") Long eventId, @Param("date") LocalDateTime date);
+
+    // Reconstrução completa ou por usuário a partir de events/event_members
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_calendar"))
+    @Query(value = "DELETE FROM user_calendar", nativeQuery = true)
+    int deleteAllEntries();
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_calendar"))
+    @Query(value = "INSERT IGNORE INTO user_calendar (user_id, event_id, event_date, change_id) " +
+                   "SELECT e.created_by, e.id, e.date, :changeId FROM events e " +
+                   "UNION SELECT em.user_id, e.id, e.date, :changeId FROM event_members em JOIN events e ON e.id = em.event_id",
+           nativeQuery = true)
+    int insertAllEntries(@Param("changeId") Long changeId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserCalendarEntry uc WHERE uc.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_calendar"))
+    @Query(value = "INSERT IGNORE INTO user_calendar (user_id, event_id, event_date, change_id) " +
+                   "SELECT e.created_by, e.id, e.date, :changeId FROM events e WHERE e.created_by = :userId " +
+                   "UNION SELECT em.user_id, e.id, e.date, :changeId FROM event_members em JOIN events e ON e.id = em.event_id " +
+                   "WHERE em.user_id = :userId", nativeQuery = true)
+    int insertForUser(@Param("userId") Long userId, @Param("changeId") Long changeId);
+
+    // Checagem de consistência: linhas faltando, sobrando e com data desatualizada
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "SELECT e.created_by AS user_id, e.id AS event_id FROM events e " +
+                   "UNION SELECT em.user_id, em.event_id FROM event_members em) x " +
+                   "LEFT JOIN user_calendar uc ON uc.user_id = x.user_id AND uc.event_id = x.event_id " +
+                   "WHERE uc.user_id IS NULL", nativeQuery = true)
+    long countMissingEntries();
+
+    @Query(value = "SELECT COUNT(*) FROM user_calendar uc " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM events e WHERE e.id = uc.event_id AND e.created_by = uc.user_id) " +
+                   "AND NOT EXISTS (SELECT 1 FROM event_members em WHERE em.event_id = uc.event_id AND em.user_id = uc.user_id)",
+           nativeQuery = true)
+    long countOrphanEntries();
+
+    @Query(value = "SELECT COUNT(*) FROM user_calendar uc JOIN events e ON e.id = uc.event_id " +
+                   "WHERE uc.event_date <> e.date", nativeQuery = true)
+    long countStaleEntries();
+}
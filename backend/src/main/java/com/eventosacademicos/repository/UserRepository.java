@@ -1,12 +1,24 @@
 package com.eventosacademicos.repository;
 
+import com.eventosacademicos.model.CacheRegions;
 import com.eventosacademicos.model.User;
 import com.eventosacademicos.model.UserType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,13 +29,88 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByRegistrationNumber(String registrationNumber);
     
+    Optional<User> findByFeedTokenHash(String feedTokenHash);
+    
     List<User> findByUserType(UserType userType);
     
     List<User> findByApproved(boolean approved);
     
+    Slice<User> findByIdGreaterThanOrderByIdAsc(Long after, Pageable pageable);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderedById();
+    
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
     
     boolean existsByRegistrationNumber(String registrationNumber);
+    
+    // Trava as linhas dos usuários em ordem de id (sem deadlock entre transações que travam conjuntos sobrepostos)
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenEpochById(@Param("id") Long id);
+    
+    @Query("SELECT u.id, u.tokenEpoch FROM User u WHERE u.id IN :ids")
+    List<Object[]> findTokenEpochsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT u.id, u.tokenEpoch FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findTokenEpochsByUsernameIn(@Param("usernames") Collection<String> usernames);
+    
+    // Checagens de unicidade da importação em lote: uma consulta por chave para o lote inteiro
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT u.registrationNumber FROM User u WHERE u.registrationNumber IN :registrationNumbers")
+    List<String> findExistingRegistrationNumbers(@Param("registrationNumbers") Collection<String> registrationNumbers);
+    
+    // Aprovação em lote; como em UserService.approveUser, a época do token é incrementada
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.approved = true, u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id IN :ids AND u.approved = false")
+    int approveAll(@Param("ids") Collection<Long> ids);
+    
+    // Regrava o hash no login (custo do BCrypt aumentado); não sobrescreve uma troca de senha concorrente
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+    
+    @Query("SELECT u.calendarVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findCalendarVersionById(@Param("id") Long id);
+    
+    // Versões de calendário: incrementadas na mesma transação das escritas (ver UserCalendarService).
+    // calendar_version não é lido pela entidade, então estes UPDATEs não invalidam o cache dos usuários
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "UPDATE users SET calendar_version = calendar_version + 1 WHERE id IN (:ids)", nativeQuery = true)
+    int incrementCalendarVersions(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "UPDATE users SET calendar_version = calendar_version + 1 " +
+                   "WHERE id IN (SELECT uc.user_id FROM user_calendar uc WHERE uc.event_id = :eventId)", nativeQuery = true)
+    int incrementCalendarVersionsForEvent(@Param("eventId") Long eventId);
+    
+    // Usuários que têm no calendário algum evento do calendário de :userId
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "UPDATE users SET calendar_version = calendar_version + 1 " +
+                   "WHERE id IN (SELECT other.user_id FROM user_calendar mine " +
+                   "JOIN user_calendar other ON other.event_id = mine.event_id WHERE mine.user_id = :userId)",
+           nativeQuery = true)
+    int incrementCalendarVersionsSharingWith(@Param("userId") Long userId);
+    
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.NO_CACHED_DATA))
+    @Query(value = "UPDATE users SET calendar_version = calendar_version + 1", nativeQuery = true)
+    int incrementAllCalendarVersions();
 } 
\ No newline at end of file
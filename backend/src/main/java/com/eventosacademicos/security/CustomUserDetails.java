@@ -1,5 +1,6 @@
 package com.eventosacademicos.security;
 
+import com.eventosacademicos.model.UserType;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -12,20 +13,38 @@ public class CustomUserDetails implements UserDetails {
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
     private final boolean enabled;
+    private final UserType userType;
+    private final int tokenEpoch;
     
     public CustomUserDetails(Long id, String username, String password, 
                            Collection<? extends GrantedAuthority> authorities, boolean enabled) {
+        this(id, username, password, authorities, enabled, null, 0);
+    }
+    
+    public CustomUserDetails(Long id, String username, String password,
+                           Collection<? extends GrantedAuthority> authorities, boolean enabled,
+                           UserType userType, int tokenEpoch) {
         this.id = id;
         this.username = username;
         this.password = password;
         this.authorities = authorities;
         this.enabled = enabled;
+        this.userType = userType;
+        this.tokenEpoch = tokenEpoch;
     }
     
     public Long getId() {
         return id;
     }
     
+    public UserType getUserType() {
+        return userType;
+    }
+    
+    public int getTokenEpoch() {
+        return tokenEpoch;
+    }
+    
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -1,12 +1,18 @@
 package com.eventosacademicos.security;
 
+import com.eventosacademicos.logging.RequestLogFilter;
 import com.eventosacademicos.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,18 +21,35 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    // O EventSource (SSE) não envia cabeçalhos: o JWT da sessão é aceito em ?token=
+    private static final Set<String> TOKEN_PARAM_PATHS = Set.of("/api/events/stream");
+    // Apps de calendário só guardam uma URL: ?token= é o token do feed (UserService.issueFeedToken), nunca o JWT
+    private static final String FEED_PATH = "/api/events/feed.ics";
     
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
+    private final TokenEpochRegistry tokenEpochRegistry;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserService userService) {
+    // Verificação da assinatura + decodificação das claims, e a montagem do principal a partir delas
+    private final Timer verifyValid;
+    private final Timer verifyInvalid;
+    private final Timer resolveTimer;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserService userService,
+                                   TokenEpochRegistry tokenEpochRegistry, MeterRegistry meterRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userService = userService;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.verifyValid = jwtTimer("jwt.verify", "valid").register(meterRegistry);
+        this.verifyInvalid = jwtTimer("jwt.verify", "invalid").register(meterRegistry);
+        this.resolveTimer = Timer.builder("jwt.resolve").publishPercentileHistogram().register(meterRegistry);
         logger.debug("Filter 'jwtAuthenticationFilter' configured for use");
     }
 
@@ -41,35 +64,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
-
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        final String jwt = resolveToken(request);
+        if (jwt == null) {
+            String feedToken = FEED_PATH.equals(requestURI) ? request.getParameter("token") : null;
+            if (feedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                try {
+                    userService.findByFeedToken(feedToken).ifPresent(userDetails -> authenticate(userDetails, request));
+                } catch (Exception e) {
+                    logger.error("Error processing feed token: {}", e.getMessage());
+                }
+            }
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
         try {
-            if (jwtTokenProvider.validateToken(jwt)) {
-                username = jwtTokenProvider.getUsernameFromJWT(jwt);
-                
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = this.userService.loadUserByUsername(username);
-                    
-                    // Verificar se é CustomUserDetails
-                    if (userDetails instanceof CustomUserDetails) {
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                        );
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Token verificado e decodificado uma única vez por requisição
+                Claims claims = verify(jwt);
+                Timer.Sample sample = Timer.start();
+                UserDetails userDetails = resolveUserDetails(claims);
+                sample.stop(resolveTimer);
+
+                if (userDetails instanceof CustomUserDetails customUserDetails) {
+                    authenticate(customUserDetails, request);
                 }
             }
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Invalid JWT token: {}", e.getMessage());
         } catch (Exception e) {
             logger.error("Error processing JWT token: {}", e.getMessage());
         }
@@ -77,6 +99,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private static void authenticate(CustomUserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+            userDetails,
+            null,
+            userDetails.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        MDC.put(RequestLogFilter.USER_ID_KEY, String.valueOf(userDetails.getId()));
+    }
+    
+    // Header Authorization ou, nos caminhos de TOKEN_PARAM_PATHS, ?token=
+    private static String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (TOKEN_PARAM_PATHS.contains(request.getRequestURI())) {
+            return request.getParameter("token");
+        }
+        return null;
+    }
+
+    private Claims verify(String jwt) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtTokenProvider.parseClaims(jwt);
+            verifyValid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            verifyInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer.Builder jwtTimer(String name, String outcome) {
+        return Timer.builder(name).tag("outcome", outcome).publishPercentileHistogram();
+    }
+
+    private UserDetails resolveUserDetails(Claims claims) {
+        CustomUserDetails userDetails = jwtTokenProvider.toUserDetails(claims);
+        if (userDetails == null) {
+            // Tokens emitidos antes das claims de tipo/época: consulta o banco uma vez
+            return claims.getSubject() != null ? userService.loadUserByUsername(claims.getSubject()) : null;
+        }
+        if (!userDetails.isEnabled() || !tokenEpochRegistry.isCurrent(userDetails.getId(), userDetails.getTokenEpoch())) {
+            logger.debug("Revoked JWT token for user {}", userDetails.getUsername());
+            return null;
+        }
+        return userDetails;
+    }
+
     private boolean isPublicEndpoint(String requestURI) {
         return requestURI.startsWith("/api/auth/") || 
                requestURI.equals("/error") ||
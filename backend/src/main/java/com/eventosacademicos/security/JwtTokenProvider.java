@@ -1,77 +1,116 @@
 package com.eventosacademicos.security;
 
+import com.eventosacademicos.model.UserType;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
 
 @Component
 public class JwtTokenProvider {
-    
+
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_USER_TYPE = "userType";
+    public static final String CLAIM_APPROVED = "approved";
+    public static final String CLAIM_TOKEN_EPOCH = "epoch";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
-    
+
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
-    
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+
+    // Chave e parser são imutáveis e thread-safe: construídos uma única vez
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
-    
+
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
-        
-        String userId = null;
-        if (userDetails instanceof CustomUserDetails) {
-            userId = ((CustomUserDetails) userDetails).getId().toString();
-        }
-        
-        return Jwts.builder()
+
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("userId", userId)
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setExpiration(expiryDate);
+
+        if (userDetails instanceof CustomUserDetails) {
+            CustomUserDetails details = (CustomUserDetails) userDetails;
+            builder.claim(CLAIM_USER_ID, details.getId().toString())
+                    .claim(CLAIM_USER_TYPE, details.getUserType() != null ? details.getUserType().name() : null)
+                    .claim(CLAIM_APPROVED, details.isEnabled())
+                    .claim(CLAIM_TOKEN_EPOCH, details.getTokenEpoch());
+        }
+
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
-    
+
+    /**
+     * Valida a assinatura e a expiração do token e devolve suas claims.
+     * Lança {@link JwtException} ou {@link IllegalArgumentException} se o token for inválido.
+     */
+    public Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Monta o principal a partir das claims verificadas, sem consultar o banco.
+     * Retorna null para tokens antigos que não carregam tipo de usuário e época.
+     */
+    public CustomUserDetails toUserDetails(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String userType = claims.get(CLAIM_USER_TYPE, String.class);
+        Boolean approved = claims.get(CLAIM_APPROVED, Boolean.class);
+        Integer tokenEpoch = claims.get(CLAIM_TOKEN_EPOCH, Integer.class);
+        if (userId == null || userType == null || approved == null || tokenEpoch == null) {
+            return null;
+        }
+
+        UserType type = UserType.valueOf(userType);
+        return new CustomUserDetails(
+                Long.parseLong(userId),
+                claims.getSubject(),
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + type.name())),
+                approved,
+                type,
+                tokenEpoch
+        );
+    }
+
     public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
-    
+
     public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        String userId = claims.get("userId", String.class);
+        String userId = parseClaims(token).get(CLAIM_USER_ID, String.class);
         return userId != null ? Long.parseLong(userId) : null;
     }
-    
+
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
+            parseClaims(authToken);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
-} 
\ No newline at end of file
+}
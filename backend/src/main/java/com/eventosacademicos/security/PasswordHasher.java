@@ -0,0 +1,138 @@
+package com.eventosacademicos.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o BCrypt (verificação e geração de hash) num pool do tamanho do número de CPUs, com fila
+ * limitada. Numa avalanche de logins o excedente é recusado na hora com {@link PasswordHasherBusyException}
+ * em vez de se acumular nas threads do Tomcat disputando CPU; tarefas que esperam mais que
+ * {@code security.password.wait-ms} na fila são descartadas sem rodar.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ForkJoinPool bulkPool;
+    private final long maxWaitMillis;
+
+    private final Timer verifyTimer;
+    private final Timer encodeTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry registry,
+                          @Value("${security.password.threads:0}") int threads,
+                          @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                          @Value("${security.password.wait-ms:1000}") long maxWaitMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWaitMillis = maxWaitMillis;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.bulkPool = new ForkJoinPool(poolSize);
+
+        Gauge.builder("auth.password.queue", executor, e -> e.getQueue().size()).register(registry);
+        this.verifyTimer = Timer.builder("auth.password.hash").tag("operation", "verify")
+                .publishPercentileHistogram().register(registry);
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode")
+                .publishPercentileHistogram().register(registry);
+        this.rejected = Counter.builder("auth.password.rejected").register(registry);
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(verifyTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    // Importação em lote: gera os hashes em paralelo num ForkJoinPool à parte, sem ocupar a fila do login
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        try {
+            return bulkPool.submit(() -> rawPasswords.parallelStream()
+                    .map(raw -> encodeTimer.record(() -> passwordEncoder.encode(raw)))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHasherBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Hash gravado com custo menor que o configurado (security.password.bcrypt-strength)
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        // Quem marcar primeiro decide: o worker ao começar ou quem espera ao desistir. O prazo vale
+        // só para a fila; uma verificação já iniciada vai até o fim, senão sob sobrecarga quase toda
+        // tarefa começaria perto do prazo e o resultado seria descartado
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> claimed.compareAndSet(false, true) ? timer.recordCallable(task) : null);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHasherBusyException();
+        }
+        try {
+            try {
+                return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    future.cancel(false);
+                    rejected.increment();
+                    throw new PasswordHasherBusyException();
+                }
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            claimed.set(true);
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHasherBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        bulkPool.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+package com.eventosacademicos.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Pool do BCrypt cheio ou espera acima do limite: a requisição é recusada em vez de enfileirada
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHasherBusyException extends RuntimeException {
+
+    public PasswordHasherBusyException() {
+        super("Servidor sobrecarregado");
+    }
+}
@@ -0,0 +1,82 @@
+package com.eventosacademicos.security;
+
+import com.eventosacademicos.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém em memória a época de token de cada usuário.
+ * Um token só é aceito se o usuário ainda existir e a época gravada no token
+ * for igual à atual; assim aprovar, alterar a senha ou excluir um usuário
+ * revoga os tokens anteriores sem consultar o banco a cada requisição.
+ *
+ * Usuários ausentes do mapa, entradas mais velhas que {@code security.token-epoch.ttl-ms} e tokens
+ * com época maior que a conhecida (emitidos por outra instância) são conferidos no banco. Mudanças
+ * feitas nesta instância entram no mapa só após o commit da transação que as gravou.
+ */
+@Component
+public class TokenEpochRegistry {
+
+    // Épocas só crescem: ao juntar leituras concorrentes, prevalece a maior
+    private record Epoch(int value, long loadedAtNanos) {
+        Epoch newest(Epoch other) {
+            return other.value >= value ? other : new Epoch(value, other.loadedAtNanos);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<Long, Epoch> epochs = new ConcurrentHashMap<>();
+
+    public TokenEpochRegistry(UserRepository userRepository,
+                              @Value("${security.token-epoch.ttl-ms:30000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public boolean isCurrent(Long userId, int tokenEpoch) {
+        Epoch current = epochs.get(userId);
+        if (current == null || System.nanoTime() - current.loadedAtNanos() > ttlNanos || tokenEpoch > current.value()) {
+            current = reload(userId);
+        }
+        return current != null && current.value() == tokenEpoch;
+    }
+
+    public void update(Long userId, int tokenEpoch) {
+        afterCommit(() -> epochs.merge(userId, new Epoch(tokenEpoch, System.nanoTime()), Epoch::newest));
+    }
+
+    public void remove(Long userId) {
+        afterCommit(() -> epochs.remove(userId));
+    }
+
+    private Epoch reload(Long userId) {
+        Optional<Integer> epoch = userRepository.findTokenEpochById(userId);
+        if (epoch.isEmpty()) {
+            epochs.remove(userId);
+            return null;
+        }
+        return epochs.merge(userId, new Epoch(epoch.get(), System.nanoTime()), Epoch::newest);
+    }
+
+    // Um rollback não pode deixar o registro à frente do banco
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.dto.CalendarChangesDTO;
+import com.eventosacademicos.dto.CalendarEventDTO;
+import com.eventosacademicos.dto.CalendarTombstoneDTO;
+import com.eventosacademicos.model.CalendarChange;
+import com.eventosacademicos.repository.CalendarChangeRepository;
+import com.eventosacademicos.repository.CalendarChangeSequenceRepository;
+import com.eventosacademicos.repository.CalendarTombstoneRepository;
+import com.eventosacademicos.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sequência global das alterações do calendário e leitura das mudanças de um usuário desde um token
+ * (GET /api/events/changes). O token é a última sequência confirmada no momento da leitura.
+ *
+ * Cada transação de escrita cria uma linha em calendar_changes e marca com o id dela o que alterou.
+ * A sequência só é atribuída no beforeCommit, incrementando a linha única de calendar_change_sequence,
+ * que fica travada até o commit: se uma sequência está visível, todas as menores também estão. A trava
+ * é pega depois de todas as outras escritas da transação, então é curta e não forma ciclos de espera.
+ */
+@Service
+@Timed(value = "eventos.service", histogram = true)
+public class CalendarChangeService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CalendarChangeService.class);
+    
+    private static final String CHANGE_RESOURCE = CalendarChangeService.class.getName() + ".change";
+    
+    @Value("${calendar.changes.tombstone-retention-days:30}")
+    private int retentionDays;
+    
+    @Autowired
+    private CalendarChangeSequenceRepository sequenceRepository;
+    
+    @Autowired
+    private CalendarChangeRepository changeRepository;
+    
+    @Autowired
+    private CalendarTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    // Alteração da transação atual: criada na primeira chamada e reutilizada nas demais
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long currentChange() {
+        Long changeId = (Long) TransactionSynchronizationManager.getResource(CHANGE_RESOURCE);
+        if (changeId != null) {
+            return changeId;
+        }
+        Long id = changeRepository.save(new CalendarChange()).getId();
+        TransactionSynchronizationManager.bindResource(CHANGE_RESOURCE, id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                changeRepository.assignSeq(id, nextSeq());
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CHANGE_RESOURCE);
+            }
+        });
+        return id;
+    }
+    
+    /**
+     * Tokens já emitidos passam a exigir sincronização completa. Chamado no fim de escritas que apagam
+     * entradas sem tombstone; a sequência fica travada daí até o commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void invalidateTokens() {
+        sequenceRepository.advanceCompactedSeq(nextSeq());
+    }
+    
+    /**
+     * Eventos que mudaram ou entraram no calendário do usuário depois do token e os que saíram dele.
+     * Sem token, com token anterior à compactação dos tombstones ou depois de uma reconstrução completa,
+     * devolve o calendário inteiro com {@code reset = true}.
+     */
+    @Transactional(readOnly = true)
+    public CalendarChangesDTO getChanges(Long userId, String token) {
+        // A sequência é lida antes dos dados: o que for confirmado depois fica para a próxima sincronização
+        long until = sequenceRepository.findCurrentSeq().orElse(0L);
+        Long since = parseToken(token);
+        if (since == null || since < sequenceRepository.findCompactedSeq().orElse(0L)) {
+            return new CalendarChangesDTO(Long.toString(until), true,
+                    eventRepository.findCalendarSnapshotForUser(userId), List.of());
+        }
+        // Token à frente desta leitura (réplica atrasada): nada novo, o cliente mantém o token
+        if (since >= until) {
+            return new CalendarChangesDTO(Long.toString(since), false, List.of(), List.of());
+        }
+        
+        List<CalendarEventDTO> events = eventRepository.findCalendarChangesForUser(userId, since, until);
+        Set<Long> present = events.stream().map(CalendarEventDTO::getId).collect(Collectors.toSet());
+        
+        // Um evento que saiu e voltou ao calendário aparece só em events; repetições viram um tombstone
+        Map<Long, CalendarTombstoneDTO> removed = new LinkedHashMap<>();
+        for (CalendarTombstoneDTO tombstone : tombstoneRepository.findForUser(userId, since, until)) {
+            if (!present.contains(tombstone.getEventId())) {
+                removed.put(tombstone.getEventId(), tombstone);
+            }
+        }
+        return new CalendarChangesDTO(Long.toString(until), false, events, new ArrayList<>(removed.values()));
+    }
+    
+    /**
+     * Apaga os tombstones fora da retenção e, em seguida, as linhas de calendar_changes até a sequência
+     * compactada que ficaram sem referência (eventos e entradas alterados de novo, tombstones apagados).
+     */
+    @Scheduled(cron = "${calendar.changes.compaction-cron:0 0 5 * * *}")
+    @Transactional
+    public int compactTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Optional<Long> maxSeq = tombstoneRepository.findMaxSeqCreatedBefore(cutoff);
+        int deleted = 0;
+        if (maxSeq.isPresent()) {
+            sequenceRepository.advanceCompactedSeq(maxSeq.get());
+            deleted = tombstoneRepository.deleteCreatedBefore(cutoff);
+            logger.info("Tombstones do calendário compactados: {} removidos, tokens até a sequência {} exigem sincronização completa",
+                    deleted, maxSeq.get());
+        }
+        // invalidateTokens também avança a compactação, então a limpeza roda mesmo sem tombstones antigos
+        long compactedSeq = sequenceRepository.findCompactedSeq().orElse(0L);
+        if (compactedSeq > 0) {
+            int changes = changeRepository.deleteUnreferencedUpTo(compactedSeq);
+            logger.info("Alterações do calendário compactadas: {} removidas até a sequência {}", changes, compactedSeq);
+        }
+        return deleted;
+    }
+    
+    private long nextSeq() {
+        if (sequenceRepository.increment() == 0) {
+            sequenceRepository.insertInitial();
+        }
+        return sequenceRepository.findCurrentSeq()
+                .orElseThrow(() -> new IllegalStateException("Sequência de alterações não inicializada"));
+    }
+    
+    private static Long parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            long seq = Long.parseLong(token);
+            if (seq < 0) {
+                throw new IllegalArgumentException("Token de sincronização inválido");
+            }
+            return seq;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Token de sincronização inválido");
+        }
+    }
+}
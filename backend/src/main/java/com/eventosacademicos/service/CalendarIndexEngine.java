@@ -0,0 +1,323 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.dto.CalendarEventDTO;
+import com.eventosacademicos.repository.EventRepository;
+import com.eventosacademicos.repository.UserCalendarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória das linhas do tempo do calendário (global e por usuário).
+ * Cada linha do tempo guarda pares (minuto desde a época, id do evento) ordenados
+ * em arrays de long, e consultas por intervalo são buscas binárias sem acesso ao banco.
+ *
+ * Desligado por padrão ({@code calendar.engine.enabled}); quando ligado é carregado na
+ * inicialização e atualizado após o commit de cada escrita do EventService.
+ * Só indexa eventos únicos: séries recorrentes são expandidas pelo EventService a cada consulta.
+ */
+@Component
+public class CalendarIndexEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarIndexEngine.class);
+
+    // Resumo do evento e usuários (organizador e membros) cujo calendário o contém
+    private record Entry(CalendarEventDTO summary, long key, long[] userIds) {}
+
+    @Value("${calendar.engine.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserCalendarRepository userCalendarRepository;
+
+    private final Map<Long, Entry> events = new ConcurrentHashMap<>();
+    // Última versão aplicada por evento (Long.MAX_VALUE para excluídos): um refresh que leu uma
+    // versão anterior à já aplicada chegou atrasado e é descartado
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    // Mudanças confirmadas durante a carga, reaplicadas depois dela
+    private final List<Long> pendingRefreshes = new ArrayList<>();
+    private final Map<Long, EventTimeline> userTimelines = new ConcurrentHashMap<>();
+    private volatile EventTimeline globalTimeline = EventTimeline.EMPTY;
+    private volatile boolean ready = false;
+
+    // Escritas são serializadas; leituras usam os snapshots imutáveis sem trava
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final TransactionTemplate refreshTransaction;
+
+    public CalendarIndexEngine(PlatformTransactionManager transactionManager) {
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refreshTransaction.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            load();
+        } finally {
+            writeLock.unlock();
+        }
+        // A aplicação já atende durante a carga: escritas confirmadas depois do snapshot ficaram na fila
+        List<Long> pending;
+        synchronized (pendingRefreshes) {
+            ready = true;
+            pending = new ArrayList<>(new LinkedHashSet<>(pendingRefreshes));
+            pendingRefreshes.clear();
+        }
+        for (Long eventId : pending) {
+            refreshTransaction.executeWithoutResult(status -> refreshEvent(eventId));
+        }
+        logger.info("Índice do calendário carregado: {} eventos, {} usuários, ~{} KB em {} ms",
+                events.size(), userTimelines.size(), estimateMemoryBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // A transação nova só é aberta com o índice ligado: com o proxy @Transactional cada escrita
+    // pegava uma segunda conexão do pool mesmo desligado, esgotando o pool sob concorrência
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingRefreshes) {
+            if (!ready) {
+                pendingRefreshes.add(change.getEventId());
+                return;
+            }
+        }
+        refreshTransaction.executeWithoutResult(status -> refreshEvent(change.getEventId()));
+    }
+
+    // Eventos do usuário em [from, to), ordenados por data; limites nulos significam sem limite
+    public List<CalendarEventDTO> findForUser(Long userId, LocalDateTime from, LocalDateTime to) {
+        EventTimeline timeline = userTimelines.getOrDefault(userId, EventTimeline.EMPTY);
+        return collect(timeline, from, to, false);
+    }
+
+    // Eventos únicos em [from, to], como em findByDateBetweenAndRecurrenceRuleIsNull
+    public List<CalendarEventDTO> findBetween(LocalDateTime from, LocalDateTime to) {
+        return collect(globalTimeline, from, to, true);
+    }
+
+    // Confere o resultado do índice com a consulta SQL equivalente, medindo as duas
+    @Transactional(readOnly = true)
+    public Map<String, Object> compareWithDatabase(Long userId, LocalDateTime from, LocalDateTime to) {
+        long start = System.nanoTime();
+        List<Long> fromIndex = findForUser(userId, from, to).stream().map(CalendarEventDTO::getId).toList();
+        long indexNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<Long> fromDatabase = eventRepository.findCalendarFeedForUser(userId, from, to).stream()
+                .map(CalendarEventDTO::getId).toList();
+        long databaseNanos = System.nanoTime() - start;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", isEnabled());
+        result.put("matches", fromIndex.equals(fromDatabase));
+        result.put("indexCount", fromIndex.size());
+        result.put("databaseCount", fromDatabase.size());
+        result.put("indexMicros", indexNanos / 1000);
+        result.put("databaseMicros", databaseNanos / 1000);
+        return result;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long bytes = estimateMemoryBytes();
+        stats.put("enabled", isEnabled());
+        stats.put("events", events.size());
+        stats.put("users", userTimelines.size());
+        stats.put("userTimelineEntries", userTimelines.values().stream().mapToLong(EventTimeline::size).sum());
+        stats.put("estimatedBytes", bytes);
+        stats.put("estimatedBytesPer100kEvents", events.isEmpty() ? 0 : bytes * 100_000 / events.size());
+        return stats;
+    }
+
+    /**
+     * Estimativa dos bytes ocupados: arrays das linhas do tempo, arrays de usuários por evento
+     * e um custo fixo por entrada de mapa e por resumo do evento (sem contar as strings).
+     */
+    public long estimateMemoryBytes() {
+        long bytes = globalTimeline.memoryBytes();
+        for (EventTimeline timeline : userTimelines.values()) {
+            bytes += timeline.memoryBytes() + 48;
+        }
+        for (Entry entry : events.values()) {
+            bytes += 48 + 16 + 8L * entry.userIds().length + 72;
+        }
+        return bytes;
+    }
+
+    private List<CalendarEventDTO> collect(EventTimeline timeline, LocalDateTime from, LocalDateTime to, boolean inclusiveEnd) {
+        long fromKey = from == null ? Long.MIN_VALUE : toKey(from);
+        long toKey = to == null ? Long.MAX_VALUE : toKey(to) + 1;
+        long[] ids = timeline.range(fromKey, toKey);
+
+        List<CalendarEventDTO> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Entry entry = events.get(id);
+            if (entry == null) {
+                continue;
+            }
+            // As chaves têm resolução de minuto: os extremos são conferidos pela data exata
+            LocalDateTime date = entry.summary().getDate();
+            if (from != null && date.isBefore(from)) {
+                continue;
+            }
+            if (to != null && (inclusiveEnd ? date.isAfter(to) : !date.isBefore(to))) {
+                continue;
+            }
+            result.add(entry.summary());
+        }
+        result.sort(Comparator.comparing(CalendarEventDTO::getDate).thenComparing(CalendarEventDTO::getId));
+        return result;
+    }
+
+    private void load() {
+        events.clear();
+        versions.clear();
+        userTimelines.clear();
+
+        Map<Long, CalendarEventDTO> summaries = new HashMap<>();
+        try (Stream<CalendarEventDTO> stream = eventRepository.streamCalendarSummaries()) {
+            stream.filter(summary -> summary.getRecurrenceRule() == null)
+                    .forEach(summary -> summaries.put(summary.getId(), summary));
+        }
+
+        // Agrupa (evento, usuário) por usuário e por evento em arrays primitivos
+        Map<Long, LongPairs> byUser = new HashMap<>();
+        Map<Long, LongPairs> byEvent = new HashMap<>();
+        try (Stream<Object[]> stream = userCalendarRepository.streamAllEntries()) {
+            stream.forEach(row -> {
+                Long eventId = (Long) row[0];
+                Long userId = (Long) row[1];
+                CalendarEventDTO summary = summaries.get(eventId);
+                if (summary == null) {
+                    return;
+                }
+                byUser.computeIfAbsent(userId, k -> new LongPairs()).add(toKey(summary.getDate()), eventId);
+                byEvent.computeIfAbsent(eventId, k -> new LongPairs()).add(userId, 0);
+            });
+        }
+
+        LongPairs global = new LongPairs();
+        for (CalendarEventDTO summary : summaries.values()) {
+            long key = toKey(summary.getDate());
+            LongPairs users = byEvent.get(summary.getId());
+            long[] userIds = users == null ? new long[0] : Arrays.copyOf(users.first, users.size);
+            Arrays.sort(userIds);
+            events.put(summary.getId(), new Entry(summary, key, userIds));
+            global.add(key, summary.getId());
+        }
+        globalTimeline = EventTimeline.of(global.first, global.second, global.size);
+        byUser.forEach((userId, pairs) ->
+                userTimelines.put(userId, EventTimeline.of(pairs.first, pairs.second, pairs.size)));
+    }
+
+    private void refreshEvent(Long eventId) {
+        long version = eventRepository.findVersionById(eventId).orElse(Long.MAX_VALUE);
+        Optional<CalendarEventDTO> summary = eventRepository.findCalendarSummaryById(eventId)
+                .filter(s -> s.getRecurrenceRule() == null);
+        long[] userIds = summary.isPresent()
+                ? userCalendarRepository.findUserIdsByEventId(eventId).stream().mapToLong(Long::longValue).sorted().toArray()
+                : new long[0];
+
+        writeLock.lock();
+        try {
+            if (version < versions.getOrDefault(eventId, Long.MIN_VALUE)) {
+                return;
+            }
+            versions.put(eventId, version);
+            Entry previous = events.get(eventId);
+            Entry current = summary.map(s -> new Entry(s, toKey(s.getDate()), userIds)).orElse(null);
+
+            if (previous != null && (current == null || previous.key() != current.key())) {
+                globalTimeline = globalTimeline.without(previous.key(), eventId);
+            }
+            if (current != null) {
+                globalTimeline = globalTimeline.with(current.key(), eventId);
+                events.put(eventId, current);
+            } else {
+                events.remove(eventId);
+            }
+
+            // Só as linhas do tempo dos usuários que mudaram são reescritas
+            if (previous != null) {
+                for (long userId : previous.userIds()) {
+                    if (current == null || previous.key() != current.key()
+                            || Arrays.binarySearch(current.userIds(), userId) < 0) {
+                        updateUserTimeline(userId, timeline -> timeline.without(previous.key(), eventId));
+                    }
+                }
+            }
+            if (current != null) {
+                for (long userId : current.userIds()) {
+                    updateUserTimeline(userId, timeline -> timeline.with(current.key(), eventId));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void updateUserTimeline(long userId, UnaryOperator<EventTimeline> change) {
+        EventTimeline updated = change.apply(userTimelines.getOrDefault(userId, EventTimeline.EMPTY));
+        if (updated.size() == 0) {
+            userTimelines.remove(userId);
+        } else {
+            userTimelines.put(userId, updated);
+        }
+    }
+
+    private static long toKey(LocalDateTime date) {
+        return Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    // Lista crescente de pares de long, usada só na carga inicial
+    private static final class LongPairs {
+        long[] first = new long[8];
+        long[] second = new long[8];
+        int size;
+
+        void add(long a, long b) {
+            if (size == first.length) {
+                first = Arrays.copyOf(first, size * 2);
+                second = Arrays.copyOf(second, size * 2);
+            }
+            first[size] = a;
+            second[size] = b;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.dto.CalendarDeltaDTO;
+import com.eventosacademicos.dto.CalendarEventDTO;
+import com.eventosacademicos.repository.EventRepository;
+import com.eventosacademicos.repository.UserCalendarRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal de mudanças do calendário por Server-Sent Events. Depois do commit de cada escrita do
+ * EventService calcula quem tem o evento no calendário e entrega a cada assinante conectado um
+ * delta compacto (evento criado/alterado/excluído, entrada/saída como membro), serializado uma
+ * única vez por tipo.
+ *
+ * Cada conexão tem uma fila limitada; a escrita na conexão é feita por tarefas num executor próprio
+ * (calendarPushExecutor: threads virtuais no perfil virtual-threads, senão um pool dedicado), nunca
+ * na thread que publicou a mudança nem no executor das respostas assíncronas. Conexões ociosas não
+ * ocupam thread. Um assinante cuja fila enche (cliente lento ou parado) é desconectado; o EventSource
+ * do navegador reconecta e o cliente recarrega o calendário.
+ *
+ * send() e complete() do SseEmitter sincronizam no emitter, e uma escrita parada num socket segura
+ * essa trava até o timeout de escrita do Tomcat (server.tomcat.connection-timeout). Por isso só a
+ * tarefa de escrita toca no emitter: quem publica apenas enfileira ou marca o assinante como expulso.
+ */
+@Service
+public class CalendarPushService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalendarPushService.class);
+
+    // Mensagem na fila: nome do evento SSE e JSON já serializado (null para o heartbeat)
+    private record Message(String name, String json) {}
+
+    private static final Message HEARTBEAT = new Message(null, null);
+    private static final Message READY = new Message("ready", "{}");
+
+    private final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Message> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Fila cheia: a tarefa de escrita encerra a conexão quando a escrita em andamento terminar
+        volatile boolean evicted;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    @Value("${calendar.push.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${calendar.push.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserCalendarRepository userCalendarRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("calendarPushExecutor")
+    private TaskExecutor writerExecutor;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Counter delivered;
+    private final Counter evicted;
+    private final Timer fanOut;
+
+    public CalendarPushService(PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("calendar.push.subscribers", subscriberCount, AtomicInteger::get).register(registry);
+        this.delivered = Counter.builder("calendar.push.delivered").register(registry);
+        this.evicted = Counter.builder("calendar.push.evicted").register(registry);
+        this.fanOut = Timer.builder("calendar.push.fanout").publishPercentileHistogram().register(registry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.compute(userId, (k, connected) -> {
+            Set<Subscriber> result = connected != null ? connected : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        subscriberCount.incrementAndGet();
+        // Primeira mensagem: envia os cabeçalhos e confirma a conexão ao cliente
+        enqueue(subscriber, READY);
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return subscriberCount.get() > 0;
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Quem tem o evento no calendário agora; lido antes de exclusões, só se houver alguém conectado
+    public Set<Long> snapshotAudience(Long eventId) {
+        return hasSubscribers() ? new HashSet<>(userCalendarRepository.findUserIdsByEventId(eventId)) : Set.of();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (!hasSubscribers()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> deliver(change));
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao enviar mudança do evento {}: {}", change.getEventId(), e.getMessage());
+        } finally {
+            sample.stop(fanOut);
+        }
+    }
+
+    // Comentário periódico: mantém proxies abertos e revela conexões mortas
+    @Scheduled(fixedDelayString = "${calendar.push.heartbeat-ms:30000}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> enqueue(subscriber, HEARTBEAT)));
+    }
+
+    private void deliver(EventChangedEvent change) {
+        Long eventId = change.getEventId();
+        CalendarEventDTO summary = null;
+        Set<Long> audience = Set.of();
+        if (change.getType() != EventChangedEvent.Type.DELETED) {
+            summary = eventRepository.findCalendarSummaryById(eventId).orElse(null);
+            audience = new HashSet<>(userCalendarRepository.findUserIdsByEventId(eventId));
+        }
+
+        switch (change.getType()) {
+            case CREATED -> send(audience, CalendarDeltaDTO.Type.EVENT_CREATED, eventId, summary);
+            case UPDATED -> send(audience, CalendarDeltaDTO.Type.EVENT_UPDATED, eventId, summary);
+            case DELETED -> send(change.getPreviousAudience(), CalendarDeltaDTO.Type.EVENT_DELETED, eventId, null);
+            case MEMBERS_ADDED -> send(intersection(change.getUserIds(), audience),
+                    CalendarDeltaDTO.Type.MEMBERSHIP_ADDED, eventId, summary);
+            // O organizador mantém o evento no calendário mesmo deixando de ser membro
+            case MEMBERS_REMOVED -> send(difference(change.getUserIds(), audience),
+                    CalendarDeltaDTO.Type.MEMBERSHIP_REMOVED, eventId, null);
+            case MEMBERS_REPLACED -> {
+                send(difference(audience, change.getPreviousAudience()),
+                        CalendarDeltaDTO.Type.MEMBERSHIP_ADDED, eventId, summary);
+                send(difference(change.getPreviousAudience(), audience),
+                        CalendarDeltaDTO.Type.MEMBERSHIP_REMOVED, eventId, null);
+            }
+        }
+    }
+
+    private void send(Collection<Long> userIds, CalendarDeltaDTO.Type type, Long eventId, CalendarEventDTO summary) {
+        if (userIds.isEmpty() || (summary == null && type != CalendarDeltaDTO.Type.EVENT_DELETED
+                && type != CalendarDeltaDTO.Type.MEMBERSHIP_REMOVED)) {
+            return;
+        }
+        Message message;
+        try {
+            message = new Message(type.name(), objectMapper.writeValueAsString(new CalendarDeltaDTO(type, eventId, summary)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        // Percorre o menor dos dois conjuntos: destinatários ou usuários conectados
+        if (userIds.size() <= subscribers.size()) {
+            for (Long userId : userIds) {
+                Set<Subscriber> connected = subscribers.get(userId);
+                if (connected != null) {
+                    connected.forEach(subscriber -> enqueue(subscriber, message));
+                }
+            }
+        } else {
+            subscribers.forEach((userId, connected) -> {
+                if (userIds.contains(userId)) {
+                    connected.forEach(subscriber -> enqueue(subscriber, message));
+                }
+            });
+        }
+    }
+
+    // Nunca bloqueia: roda na thread que confirmou a escrita e na do heartbeat
+    private void enqueue(Subscriber subscriber, Message message) {
+        if (subscriber.evicted) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            subscriber.evicted = true;
+            evicted.increment();
+            logger.debug("Assinante lento desconectado (usuário {})", subscriber.userId);
+            remove(subscriber);
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writerExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Uma tarefa por vez por assinante esvazia a fila na conexão
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                Message message;
+                while (!subscriber.evicted && (message = subscriber.queue.poll()) != null) {
+                    if (message == HEARTBEAT) {
+                        subscriber.emitter.send(SseEmitter.event().comment(""));
+                    } else {
+                        subscriber.emitter.send(SseEmitter.event().name(message.name())
+                                .data(message.json(), MediaType.APPLICATION_JSON));
+                        delivered.increment();
+                    }
+                }
+                if (subscriber.evicted) {
+                    // draining continua true: nenhuma outra tarefa é criada para este assinante
+                    subscriber.emitter.complete();
+                    return;
+                }
+                subscriber.draining.set(false);
+                // Uma mensagem pode ter entrado entre o último poll e a liberação
+            } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // Conexão fechada pelo cliente ou já concluída
+            remove(subscriber);
+            subscriber.draining.set(false);
+        }
+    }
+
+    // compute por usuário: não corre com um subscribe do mesmo usuário que reaproveitaria o conjunto
+    private void remove(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.userId, (k, connected) -> {
+            removed.set(connected.remove(subscriber));
+            return connected.isEmpty() ? null : connected;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+            subscriber.queue.clear();
+        }
+    }
+
+    private static Set<Long> intersection(Set<Long> a, Set<Long> b) {
+        Set<Long> result = new HashSet<>(a);
+        result.retainAll(b);
+        return result;
+    }
+
+    private static Set<Long> difference(Set<Long> a, Set<Long> b) {
+        Set<Long> result = new HashSet<>(a);
+        result.removeAll(b);
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventosacademicos.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Publicado pelo EventService a cada escrita em um evento ou em seus membros.
+ * Os ouvintes que mantêm estado derivado (índices, caches) o recebem após o commit.
+ */
+public class EventChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        MEMBERS_ADDED,
+        MEMBERS_REMOVED,
+        MEMBERS_REPLACED
+    }
+    
+    private final Long eventId;
+    private final Type type;
+    private final Set<Long> userIds;
+    private final Set<Long> previousAudience;
+    
+    public EventChangedEvent(Long eventId, Type type, Collection<Long> userIds) {
+        this(eventId, type, userIds, null);
+    }
+    
+    public EventChangedEvent(Long eventId, Type type, Collection<Long> userIds, Collection<Long> previousAudience) {
+        this.eventId = eventId;
+        this.type = type;
+        this.userIds = userIds == null ? Set.of() : Set.copyOf(userIds);
+        this.previousAudience = previousAudience == null ? Set.of() : Set.copyOf(previousAudience);
+    }
+    
+    public Long getEventId() {
+        return eventId;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    // Usuários informados na operação de membros (vazio para as demais)
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+    
+    // Usuários com o evento no calendário antes da mudança (exclusão e substituição de membros),
+    // já que depois do commit essas linhas não existem mais. Vazio se ninguém precisava dessa informação
+    public Set<Long> getPreviousAudience() {
+        return previousAudience;
+    }
+}
@@ -0,0 +1,195 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.config.PayloadFormatsConfig;
+import com.eventosacademicos.dto.VersionStampDTO;
+import com.eventosacademicos.model.Event;
+import com.eventosacademicos.model.EventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Listas de eventos iguais para todos os usuários (/api/events/all, /academic, /party e
+ * /type/{tipo}) guardadas já serializadas em JSON, junto com o ETag da versão lida. Um acerto
+ * só copia os bytes para a resposta, sem banco nem Jackson, e o 304 também não consulta o banco.
+ * Cada formato (JSON, CBOR, Smile) é uma entrada própria, com ETag próprio.
+ *
+ * Faltas simultâneas da mesma lista esperam a única geração em andamento. Toda escrita em evento
+ * ou membro descarta as listas após o commit; o TTL limita o atraso para escritas feitas por
+ * outras instâncias da aplicação.
+ */
+@Service
+public class EventListCache {
+
+    public record Entry(byte[] body, MediaType contentType, String etag, long createdAtNanos) {}
+
+    @Value("${events.list-cache.ttl-ms:60000}")
+    private long ttlMillis;
+
+    @Value("${events.list-cache.max-entry-bytes:33554432}")
+    private long maxEntryBytes;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    // Um futuro por lista: em andamento é a geração que as demais requisições aguardam,
+    // concluído é o conteúdo em cache
+    private final Map<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+
+    private final TransactionTemplate primaryTransaction;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter waits;
+
+    public EventListCache(PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        // Sem readOnly: a geração logo após uma escrita lê do primário, e não da réplica atrasada,
+        // o que deixaria a versão antiga em cache até o TTL
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.hits = Counter.builder("events.list.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("events.list.cache").tag("result", "miss").register(registry);
+        this.waits = Counter.builder("events.list.cache").tag("result", "wait").register(registry);
+        Gauge.builder("events.list.cache.bytes", this, EventListCache::cachedBytes).register(registry);
+    }
+
+    public Entry getAllEvents(MediaType format) {
+        return get("all", format, eventService::getAllEvents, eventService::getAllEventsVersion);
+    }
+
+    public Entry getEventsByType(EventType eventType, MediaType format) {
+        return get("type-" + eventType, format, () -> eventService.getEventsByType(eventType),
+                () -> eventService.getEventsByTypeVersion(eventType));
+    }
+
+    public Entry getAcademicEvents(MediaType format) {
+        return get("academic", format, eventService::getAcademicEvents, eventService::getAcademicEventsVersion);
+    }
+
+    public Entry getPartyEvents(MediaType format) {
+        return get("party", format, eventService::getPartyEvents, eventService::getPartyEventsVersion);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        invalidateAll();
+    }
+
+    // Para escritas que mudam as listas sem passar pelo EventService (ex.: exclusão de usuário)
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateAll();
+            }
+        });
+    }
+
+    // Gerações em andamento saem do mapa: quem já espera recebe o resultado, quem chega depois gera de novo
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private Entry get(String list, MediaType format, Supplier<List<Event>> loader, Supplier<VersionStampDTO> version) {
+        // O JSON mantém o ETag de antes; os binários levam o formato no ETag
+        String key = list + PayloadFormatsConfig.etagSuffix(format);
+        while (true) {
+            CompletableFuture<Entry> current = entries.get(key);
+            if (current != null) {
+                if (!current.isDone()) {
+                    waits.increment();
+                    return await(current);
+                }
+                Entry entry = current.getNow(null);
+                if (System.nanoTime() - entry.createdAtNanos() < ttlMillis * 1_000_000) {
+                    hits.increment();
+                    return entry;
+                }
+                entries.remove(key, current);
+            }
+
+            CompletableFuture<Entry> created = new CompletableFuture<>();
+            if (entries.putIfAbsent(key, created) != null) {
+                continue;
+            }
+            misses.increment();
+            try {
+                Entry entry = load(key, format, loader, version);
+                if (entry.body().length > maxEntryBytes) {
+                    entries.remove(key, created);
+                }
+                created.complete(entry);
+                return entry;
+            } catch (RuntimeException e) {
+                entries.remove(key, created);
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    // Versão e lista na mesma transação, para o ETag corresponder ao conteúdo
+    private Entry load(String key, MediaType format, Supplier<List<Event>> loader, Supplier<VersionStampDTO> version) {
+        ObjectMapper mapper = format.equals(MediaType.APPLICATION_CBOR) ? cborConverter.getObjectMapper()
+                : format.equals(PayloadFormatsConfig.SMILE) ? smileConverter.getObjectMapper() : objectMapper;
+        return primaryTransaction.execute(status -> {
+            String etag = version.get().toETag(key);
+            try {
+                return new Entry(mapper.writeValueAsBytes(loader.get()), format, etag, System.nanoTime());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static Entry await(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private double cachedBytes() {
+        return entries.values().stream()
+                .filter(future -> future.isDone() && !future.isCompletedExceptionally())
+                .mapToLong(future -> future.getNow(null).body().length)
+                .sum();
+    }
+}
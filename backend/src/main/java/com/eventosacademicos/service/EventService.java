@@ -2,71 +2,287 @@ package com.eventosacademicos.service;
 
 import com.eventosacademicos.model.Event;
 import com.eventosacademicos.model.EventMember;
+import com.eventosacademicos.model.EventOverride;
 import com.eventosacademicos.model.EventType;
 import com.eventosacademicos.model.User;
 import com.eventosacademicos.repository.EventMemberRepository;
+import com.eventosacademicos.repository.EventOverrideRepository;
 import com.eventosacademicos.repository.EventRepository;
 import com.eventosacademicos.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.eventosacademicos.dto.CalendarEventDTO;
 import com.eventosacademicos.dto.EventResponseDTO;
 import com.eventosacademicos.dto.EventMemberDTO;
+import com.eventosacademicos.dto.KeysetPage;
+import com.eventosacademicos.dto.MembershipChangeDTO;
+import com.eventosacademicos.dto.VersionStampDTO;
 
 @Service
+@Timed(value = "eventos.service", histogram = true)
 public class EventService {
     
+    private static final int STREAM_CHUNK_SIZE = 500;
+    
+    private static final List<EventType> ACADEMIC_TYPES = List.of(EventType.PROVA, EventType.TRABALHO);
+    private static final List<EventType> PARTY_TYPES = List.of(EventType.FESTA);
+    
+    private static final String EVENT_MEMBERS_ROLE = Event.class.getName() + ".members";
+    
+    // Ocorrência de uma série: data original e exceção, se houver
+    record Occurrence(LocalDateTime occurrenceDate, EventOverride override) {
+        LocalDateTime date() {
+            return override != null ? override.getEffectiveDate() : occurrenceDate;
+        }
+    }
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
     private EventRepository eventRepository;
     
     @Autowired
     private EventMemberRepository eventMemberRepository;
     
+    @Autowired
+    private EventOverrideRepository eventOverrideRepository;
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserCalendarService userCalendarService;
+    
+    @Autowired
+    private CalendarIndexEngine calendarIndexEngine;
+    
+    @Autowired
+    private CalendarPushService calendarPushService;
+    
+    @Autowired
+    private ScheduleConflictService scheduleConflictService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Event createEvent(Event event) {
+        return createEvent(event, null);
+    }
+    
+    // Cria o evento e seus membros na mesma transação
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public Event createEvent(Event event, Collection<Long> memberIds) {
         // Validar permissões baseadas no tipo de evento e usuário
         validateEventCreation(event);
+        applyRecurrence(event);
+        if (scheduleConflictService.isEnforced(event.getEventType())) {
+            Set<Long> users = new LinkedHashSet<>();
+            users.add(event.getCreatedBy().getId());
+            if (memberIds != null) {
+                users.addAll(memberIds);
+            }
+            scheduleConflictService.enforce(event, users);
+        }
         
-        return eventRepository.save(event);
+        Event createdEvent = eventRepository.save(event);
+        if (memberIds != null && !memberIds.isEmpty()) {
+            eventMemberRepository.insertMembers(createdEvent.getId(), new LinkedHashSet<>(memberIds));
+        }
+        userCalendarService.onEventCreated(createdEvent.getId());
+        publish(createdEvent.getId(), EventChangedEvent.Type.CREATED, memberIds);
+        return createdEvent;
     }
     
+    @Transactional(readOnly = true)
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public KeysetPage<Event> getEventsPage(Long after, Integer limit) {
+        Slice<Event> slice = eventRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, KeysetPage.limit(limit));
+        return KeysetPage.from(slice, Event::getId, Function.identity());
+    }
+    
+    // Percorre todos os eventos por cursor, limpando o contexto de persistência a cada lote
+    @Transactional(readOnly = true)
+    public void streamAllEvents(Consumer<Event> consumer) {
+        try (Stream<Event> events = eventRepository.streamAllOrderedById()) {
+            int count = 0;
+            for (Iterator<Event> it = events.iterator(); it.hasNext(); ) {
+                consumer.accept(it.next());
+                if (++count % STREAM_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<Event> getEventById(Long id) {
         return eventRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
+    public Optional<EventResponseDTO> getEventDetails(Long id) {
+        return eventRepository.findWithMembersAndUsersById(id)
+                .map(EventService::toEventResponseDTO);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> getEventDetails(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return toEventResponseDTOs(eventRepository.findWithMembersAndUsersByIdIn(ids));
+    }
+    
+    @Transactional(readOnly = true)
     public List<Event> getEventsForUser(User user) {
-        return eventRepository.findEventsForUser(user.getId());
+        if (calendarIndexEngine.isEnabled()) {
+            // O índice só tem eventos únicos; as séries entram como em user_calendar, pela data de início
+            List<Event> events = findAllInOrder(calendarIndexEngine.findForUser(user.getId(), null, null));
+            List<Event> series = eventRepository.findCalendarSeriesMastersForUser(user.getId());
+            if (series.isEmpty()) {
+                return events;
+            }
+            List<Event> result = new ArrayList<>(events);
+            result.addAll(series);
+            result.sort(Comparator.comparing(Event::getDate).thenComparing(Event::getId));
+            return result;
+        }
+        return eventRepository.findCalendarEventsForUser(user.getId());
     }
     
+    @Transactional(readOnly = true)
+    public List<CalendarEventDTO> getCalendarFeed(User user, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Intervalo de datas inválido");
+        }
+        // Eventos únicos pelo índice ou por user_calendar; séries expandidas só dentro da janela
+        List<CalendarEventDTO> single = calendarIndexEngine.isEnabled()
+                ? calendarIndexEngine.findForUser(user.getId(), from, to)
+                : eventRepository.findCalendarFeedForUser(user.getId(), from, to);
+        List<CalendarEventDTO> series = eventRepository.findCalendarSeriesForUser(user.getId(), from, to);
+        if (series.isEmpty()) {
+            return single;
+        }
+        
+        List<CalendarEventDTO> result = new ArrayList<>(single);
+        Map<Long, List<EventOverride>> overrides = findOverrides(series.stream().map(CalendarEventDTO::getId).toList());
+        for (CalendarEventDTO event : series) {
+            for (Occurrence occurrence : occurrences(event.getDate(), event.getRecurrenceRule(),
+                    overrides.getOrDefault(event.getId(), List.of()), from, to)) {
+                String title = occurrence.override() != null && occurrence.override().getTitle() != null
+                        ? occurrence.override().getTitle() : event.getTitle();
+                result.add(event.toOccurrence(occurrence.occurrenceDate(), occurrence.date(), title));
+            }
+        }
+        result.sort(Comparator.comparing(CalendarEventDTO::getDate).thenComparing(CalendarEventDTO::getId));
+        return result;
+    }
+    
+    @Transactional(readOnly = true)
     public List<Event> getEventsByType(EventType eventType) {
         return eventRepository.findByEventType(eventType);
     }
     
+    @Transactional(readOnly = true)
     public List<Event> getEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return eventRepository.findByDateBetween(startDate, endDate);
+        List<Event> single = calendarIndexEngine.isEnabled()
+                ? findAllInOrder(calendarIndexEngine.findBetween(startDate, endDate))
+                : eventRepository.findByDateBetweenAndRecurrenceRuleIsNull(startDate, endDate);
+        List<Event> series = eventRepository.findSeriesBetween(startDate, endDate);
+        if (series.isEmpty()) {
+            return single;
+        }
+        
+        // Intervalo fechado, como na consulta dos eventos únicos
+        List<Event> result = new ArrayList<>(single);
+        Map<Long, List<EventOverride>> overrides = findOverrides(series.stream().map(Event::getId).toList());
+        for (Event event : series) {
+            for (Occurrence occurrence : occurrences(event.getDate(), event.getRecurrenceRule(),
+                    overrides.getOrDefault(event.getId(), List.of()), startDate, endDate.plusNanos(1))) {
+                result.add(event.toOccurrence(occurrence.occurrenceDate(), occurrence.override()));
+            }
+        }
+        result.sort(Comparator.comparing(Event::getDate).thenComparing(Event::getId));
+        return result;
+    }
+    
+    private Map<Long, List<EventOverride>> findOverrides(List<Long> seriesIds) {
+        return eventOverrideRepository.findByEventIdIn(seriesIds).stream()
+                .collect(Collectors.groupingBy(EventOverride::getEventId));
     }
     
+    // Ocorrências em [from, to): as da regra sem exceção e as exceções não canceladas cuja data cai na janela
+    static List<Occurrence> occurrences(LocalDateTime start, String rule, List<EventOverride> overrides,
+                                        LocalDateTime from, LocalDateTime to) {
+        Set<LocalDateTime> overridden = overrides.stream().map(EventOverride::getOccurrenceDate).collect(Collectors.toSet());
+        List<Occurrence> result = new ArrayList<>();
+        for (LocalDateTime date : RecurrenceRule.parse(rule, start).between(start, from, to)) {
+            if (!overridden.contains(date)) {
+                result.add(new Occurrence(date, null));
+            }
+        }
+        for (EventOverride override : overrides) {
+            LocalDateTime date = override.getEffectiveDate();
+            if (!override.isCancelled() && !date.isBefore(from) && date.isBefore(to)) {
+                result.add(new Occurrence(override.getOccurrenceDate(), override));
+            }
+        }
+        return result;
+    }
+    
+    // Carrega as entidades por chave primária mantendo a ordem devolvida pelo índice
+    private List<Event> findAllInOrder(List<CalendarEventDTO> summaries) {
+        List<Long> ids = summaries.stream().map(CalendarEventDTO::getId).collect(Collectors.toList());
+        Map<Long, Event> byId = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
     public List<Event> getAcademicEvents() {
         return eventRepository.findAcademicEvents();
     }
     
+    @Transactional(readOnly = true)
     public List<Event> getPartyEvents() {
         return eventRepository.findPartyEvents();
     }
     
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Event updateEvent(Long id, Event eventDetails, User currentUser) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Evento não encontrado"));
@@ -83,16 +299,40 @@ public class EventService {
         if (eventDetails.getDescription() != null) {
             event.setDescription(eventDetails.getDescription());
         }
-        if (eventDetails.getDate() != null) {
+        boolean recurrenceChanged = false;
+        boolean rescheduled = false;
+        if (eventDetails.getDate() != null && !eventDetails.getDate().equals(event.getDate())) {
             event.setDate(eventDetails.getDate());
+            userCalendarService.onEventRescheduled(id, eventDetails.getDate());
+            recurrenceChanged = event.getRecurrenceRule() != null;
+            rescheduled = true;
         }
         if (eventDetails.getEventType() != null) {
+            rescheduled |= eventDetails.getEventType() != event.getEventType();
             event.setEventType(eventDetails.getEventType());
         }
+        // Regra nula mantém a atual; vazia transforma a série em evento único
+        if (eventDetails.getRecurrenceRule() != null) {
+            String rule = eventDetails.getRecurrenceRule().isBlank() ? null : eventDetails.getRecurrenceRule().trim();
+            recurrenceChanged |= !Objects.equals(rule, event.getRecurrenceRule());
+            event.setRecurrenceRule(rule);
+        }
+        if (recurrenceChanged) {
+            // As exceções apontam para datas de ocorrências que deixaram de existir
+            eventOverrideRepository.deleteByEventId(id);
+            applyRecurrence(event);
+        }
+        if (rescheduled || recurrenceChanged) {
+            scheduleConflictService.enforceForCalendar(event);
+        }
         
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        userCalendarService.onEventUpdated(id);
+        publish(id, EventChangedEvent.Type.UPDATED, null);
+        return savedEvent;
     }
     
+    @Transactional
     public void deleteEvent(Long id, User currentUser) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Evento não encontrado"));
@@ -102,68 +342,244 @@ public class EventService {
             throw new RuntimeException("Sem permissão para excluir este evento");
         }
         
+        Set<Long> audience = calendarPushService.snapshotAudience(id);
+        userCalendarService.onEventDeleted(id);
         eventRepository.deleteById(id);
+        eventPublisher.publishEvent(new EventChangedEvent(id, EventChangedEvent.Type.DELETED, null, audience));
     }
     
-    public Event addMemberToEvent(Long eventId, Long userId) {
+    /**
+     * Grava a exceção de uma ocorrência da série (a data original identifica a ocorrência):
+     * cancelamento ou título, descrição e data próprios. Uma exceção já existente é substituída.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public EventOverride overrideOccurrence(Long eventId, LocalDateTime occurrenceDate, EventOverride details, User currentUser) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Evento não encontrado"));
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        if (!canEditEvent(event, currentUser)) {
+            throw new RuntimeException("Sem permissão para editar este evento");
+        }
+        if (event.getRecurrenceRule() == null) {
+            throw new RuntimeException("O evento não é recorrente");
+        }
+        if (!RecurrenceRule.parse(event.getRecurrenceRule(), event.getDate()).isOccurrence(event.getDate(), occurrenceDate)) {
+            throw new RuntimeException("A data não é uma ocorrência do evento");
+        }
+        if (details.getDate() != null && details.getDate().isBefore(event.getDate())) {
+            throw new RuntimeException("A ocorrência não pode ser remarcada para antes do início da série");
+        }
         
-        if (eventMemberRepository.existsByEventAndUser(event, user)) {
-            throw new RuntimeException("Usuário já é membro deste evento");
+        EventOverride override = eventOverrideRepository.findByEventIdAndOccurrenceDate(eventId, occurrenceDate)
+                .orElseGet(() -> new EventOverride(event, occurrenceDate));
+        override.setCancelled(details.isCancelled());
+        override.setTitle(details.getTitle());
+        override.setDescription(details.getDescription());
+        override.setDate(details.getDate());
+        if (!details.isCancelled()) {
+            scheduleConflictService.enforceOccurrence(event, override.getEffectiveDate());
         }
+        EventOverride savedOverride = eventOverrideRepository.save(override);
         
-        EventMember eventMember = new EventMember(event, user);
-        eventMemberRepository.save(eventMember);
+        // Nova versão do evento: ETags, listas em cache e feeds dos membros são renovados
+        applyRecurrence(event);
+        event.setUpdatedAt(LocalDateTime.now());
+        eventRepository.save(event);
+        userCalendarService.onEventUpdated(eventId);
+        publish(eventId, EventChangedEvent.Type.UPDATED, null);
+        return savedOverride;
+    }
+    
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public Event addMemberToEvent(Long eventId, Long userId, User currentUser) {
+        Event event = requireEditableEvent(eventId, currentUser);
+        
+        scheduleConflictService.enforce(event, List.of(userId));
+        if (eventMemberRepository.insertMembers(eventId, List.of(userId)) == 0) {
+            // Caminho de erro: descobrir o motivo só quando nada foi inserido
+            if (!userRepository.existsById(userId)) {
+                throw new RuntimeException("Usuário não encontrado");
+            }
+            throw new RuntimeException("Usuário já é membro deste evento");
+        }
+        userCalendarService.onMembersAdded(eventId, List.of(userId));
+        touch(eventId);
+        publish(eventId, EventChangedEvent.Type.MEMBERS_ADDED, List.of(userId));
         
         return event;
     }
     
     @Transactional
-    public void removeMemberFromEvent(Long eventId, Long userId) {
-        System.out.println("[SERVICE] Iniciando remoção de membro: eventId=" + eventId + ", userId=" + userId);
-        
-        System.out.println("[SERVICE] Buscando evento com ID: " + eventId);
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> {
-                    System.out.println("[SERVICE] ERRO: Evento não encontrado com ID: " + eventId);
-                    return new RuntimeException("Evento não encontrado");
-                });
-        System.out.println("[SERVICE] Evento encontrado: " + event.getTitle());
-        
-        System.out.println("[SERVICE] Buscando usuário com ID: " + userId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    System.out.println("[SERVICE] ERRO: Usuário não encontrado com ID: " + userId);
-                    return new RuntimeException("Usuário não encontrado");
-                });
-        System.out.println("[SERVICE] Usuário encontrado: " + user.getUsername());
-        
-        System.out.println("[SERVICE] Verificando se usuário é membro do evento...");
-        boolean isMember = eventMemberRepository.existsByEventAndUser(event, user);
-        System.out.println("[SERVICE] Usuário é membro do evento? " + isMember);
-        
-        if (!isMember) {
-            System.out.println("[SERVICE] ERRO: Usuário não é membro deste evento");
+    public void removeMemberFromEvent(Long eventId, Long userId, User currentUser) {
+        requireEditableEvent(eventId, currentUser);
+        if (eventMemberRepository.deleteMembers(eventId, List.of(userId)) == 0) {
+            if (!userRepository.existsById(userId)) {
+                throw new RuntimeException("Usuário não encontrado");
+            }
             throw new RuntimeException("Usuário não é membro deste evento");
         }
+        userCalendarService.onMembersRemoved(eventId, List.of(userId));
+        touch(eventId);
+        publish(eventId, EventChangedEvent.Type.MEMBERS_REMOVED, List.of(userId));
+    }
+    
+    /**
+     * Adiciona um conjunto de usuários ao evento em um único INSERT.
+     * Ids inexistentes e usuários que já são membros são ignorados.
+     * Retorna o número de associações criadas.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int addMembersToEvent(Long eventId, Collection<Long> userIds, User currentUser) {
+        requireEditableEvent(eventId, currentUser);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        scheduleConflictService.enforce(eventId, ids);
+        List<Long> previous = eventMemberRepository.findMemberIdsIn(eventId, ids);
+        int added = eventMemberRepository.insertMembers(eventId, ids);
+        if (added == 0) {
+            // Nada mudou (repetição ou ids inválidos): sem nova versão, tombstone ou aviso
+            return 0;
+        }
+        // Só quem entrou de fato; ids inexistentes e membros anteriores ficam de fora
+        Set<Long> addedIds = new LinkedHashSet<>(eventMemberRepository.findMemberIdsIn(eventId, ids));
+        addedIds.removeAll(previous);
+        touch(eventId);
+        userCalendarService.onMembersAdded(eventId, addedIds);
+        publish(eventId, EventChangedEvent.Type.MEMBERS_ADDED, addedIds);
+        return added;
+    }
+    
+    // Remove o conjunto com um único DELETE ... WHERE event_id = ? AND user_id IN (...)
+    @Transactional
+    public int removeMembersFromEvent(Long eventId, Collection<Long> userIds, User currentUser) {
+        requireEditableEvent(eventId, currentUser);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        // Só os que eram membros: os demais ids não geram tombstone nem aviso
+        List<Long> memberIds = eventMemberRepository.findMemberIdsIn(eventId, new LinkedHashSet<>(userIds));
+        if (memberIds.isEmpty()) {
+            return 0;
+        }
+        int removed = eventMemberRepository.deleteMembers(eventId, memberIds);
+        if (removed == 0) {
+            return 0;
+        }
+        touch(eventId);
+        userCalendarService.onMembersRemoved(eventId, memberIds);
+        publish(eventId, EventChangedEvent.Type.MEMBERS_REMOVED, memberIds);
+        return removed;
+    }
+    
+    // Substitui os membros do evento pelo conjunto informado: um DELETE e um INSERT
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public MembershipChangeDTO replaceEventMembers(Long eventId, Collection<Long> userIds, User currentUser) {
+        requireEditableEvent(eventId, currentUser);
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        Set<Long> audience = calendarPushService.snapshotAudience(eventId);
+        MembershipChangeDTO change;
+        if (ids.isEmpty()) {
+            change = new MembershipChangeDTO(0, eventMemberRepository.deleteAllMembers(eventId));
+        } else {
+            scheduleConflictService.enforce(eventId, ids);
+            int removed = eventMemberRepository.deleteMembersNotIn(eventId, ids);
+            int added = eventMemberRepository.insertMembers(eventId, ids);
+            change = new MembershipChangeDTO(added, removed);
+        }
+        // PUT repetido com o mesmo conjunto: nenhuma alteração a registrar ou avisar
+        if (change.getAdded() == 0 && change.getRemoved() == 0) {
+            return change;
+        }
+        touch(eventId);
+        userCalendarService.onMembersReplaced(eventId, ids);
+        eventPublisher.publishEvent(new EventChangedEvent(eventId, EventChangedEvent.Type.MEMBERS_REPLACED, ids, audience));
+        return change;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<EventMemberDTO> getEventMembers(Long eventId) {
+        List<EventMember> members = eventMemberRepository.findWithUserByEventId(eventId);
+        if (members.isEmpty() && !eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Evento não encontrado");
+        }
         
-        System.out.println("[SERVICE] Removendo membro do evento...");
-        eventMemberRepository.deleteByEventAndUser(event, user);
-        System.out.println("[SERVICE] Remoção concluída para: eventId=" + eventId + ", userId=" + userId);
+        return members.stream().map(EventService::toEventMemberDTO).collect(Collectors.toList());
+    }
+    
+    // Versões para respostas condicionais (ETag / If-None-Match)
+    @Transactional(readOnly = true)
+    public Optional<Long> getEventVersion(Long id) {
+        return eventRepository.findVersionById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Long> getCalendarVersion(User user) {
+        return userRepository.findCalendarVersionById(user.getId());
     }
     
-    public Set<EventMember> getEventMembers(Long eventId) {
+    @Transactional(readOnly = true)
+    public VersionStampDTO getAllEventsVersion() {
+        return eventRepository.findVersionStamp();
+    }
+    
+    @Transactional(readOnly = true)
+    public VersionStampDTO getEventsByTypeVersion(EventType eventType) {
+        return eventRepository.findVersionStampByEventTypeIn(List.of(eventType));
+    }
+    
+    @Transactional(readOnly = true)
+    public VersionStampDTO getAcademicEventsVersion() {
+        return eventRepository.findVersionStampByEventTypeIn(ACADEMIC_TYPES);
+    }
+    
+    @Transactional(readOnly = true)
+    public VersionStampDTO getPartyEventsVersion() {
+        return eventRepository.findVersionStampByEventTypeIn(PARTY_TYPES);
+    }
+    
+    private void touch(Long eventId) {
+        eventRepository.touch(eventId, LocalDateTime.now());
+        evictFromSecondLevelCache(eventId);
+    }
+    
+    // Os UPDATEs nativos não passam pelo cache de segundo nível: o evento (versão) e seu conjunto de
+    // membros saem do cache agora e de novo ao fim da transação, caso outra leitura tenha colocado
+    // de volta a versão anterior nesse intervalo
+    private void evictFromSecondLevelCache(Long eventId) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        Runnable evict = () -> {
+            cache.evictEntityData(Event.class, eventId);
+            cache.evictCollectionData(EVENT_MEMBERS_ROLE, eventId);
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+    
+    private void publish(Long eventId, EventChangedEvent.Type type, Collection<Long> userIds) {
+        eventPublisher.publishEvent(new EventChangedEvent(eventId, type, userIds));
+    }
+    
+    // Membros só são alterados por quem pode editar o evento (organizador ou administrador)
+    private Event requireEditableEvent(Long eventId, User currentUser) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Evento não encontrado"));
-        
-        return event.getMembers();
+        if (!canEditEvent(event, currentUser)) {
+            throw new RuntimeException("Sem permissão para alterar os membros deste evento");
+        }
+        return event;
     }
     
-    private void validateEventCreation(Event event) {
+    // Visível no pacote para o benchmark (EventValidationBenchmark)
+    void validateEventCreation(Event event) {
         User creator = event.getCreatedBy();
         
         // Administradores podem criar qualquer tipo de evento
@@ -186,6 +602,22 @@ public class EventService {
         }
     }
     
+    // Valida a regra e calcula recurrence_end: última ocorrência da regra ou, se posterior, a última remarcada
+    private void applyRecurrence(Event event) {
+        if (event.getRecurrenceRule() == null) {
+            event.setRecurrenceEnd(null);
+            return;
+        }
+        LocalDateTime end = RecurrenceRule.parse(event.getRecurrenceRule(), event.getDate()).last(event.getDate());
+        if (event.getId() != null) {
+            Optional<LocalDateTime> latest = eventOverrideRepository.findLatestDate(event.getId());
+            if (latest.isPresent() && latest.get().isAfter(end)) {
+                end = latest.get();
+            }
+        }
+        event.setRecurrenceEnd(end);
+    }
+    
     private boolean canEditEvent(Event event, User currentUser) {
         // Administradores podem editar qualquer evento
         if (currentUser.getUserType() == com.eventosacademicos.model.UserType.ADMINISTRADOR) {
@@ -206,21 +638,16 @@ public class EventService {
         return event.getCreatedBy().getId().equals(currentUser.getId());
     }
 
+    // Espera organizador, membros e usuários já carregados (ver findWithMembersAndUsersById)
     public static EventResponseDTO toEventResponseDTO(Event event) {
         EventMemberDTO.UserSummaryDTO organizer = new EventMemberDTO.UserSummaryDTO(
             event.getCreatedBy().getId(),
             event.getCreatedBy().getUsername()
         );
-        java.util.List<EventMemberDTO> members = event.getMembers().stream().map(member ->
-            new EventMemberDTO(
-                member.getId(),
-                new EventMemberDTO.UserSummaryDTO(
-                    member.getUser().getId(),
-                    member.getUser().getUsername()
-                )
-            )
-        ).collect(Collectors.toList());
-        return new EventResponseDTO(
+        java.util.List<EventMemberDTO> members = event.getMembers().stream()
+            .map(EventService::toEventMemberDTO)
+            .collect(Collectors.toList());
+        EventResponseDTO dto = new EventResponseDTO(
             event.getId(),
             event.getTitle(),
             event.getDescription(),
@@ -229,5 +656,21 @@ public class EventService {
             organizer,
             members
         );
+        dto.setRecurrenceRule(event.getRecurrenceRule());
+        return dto;
+    }
+    
+    public static List<EventResponseDTO> toEventResponseDTOs(Collection<Event> events) {
+        return events.stream().map(EventService::toEventResponseDTO).collect(Collectors.toList());
+    }
+    
+    public static EventMemberDTO toEventMemberDTO(EventMember member) {
+        return new EventMemberDTO(
+            member.getId(),
+            new EventMemberDTO.UserSummaryDTO(
+                member.getUser().getId(),
+                member.getUser().getUsername()
+            )
+        );
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.eventosacademicos.service;
+
+import java.util.Arrays;
+
+/**
+ * Linha do tempo imutável de eventos ordenada por (minuto, id), em dois arrays de long paralelos.
+ * Escritas criam uma nova instância (copy-on-write), de modo que leituras não precisam de trava.
+ */
+final class EventTimeline {
+    
+    static final EventTimeline EMPTY = new EventTimeline(new long[0], new long[0]);
+    
+    private final long[] keys;
+    private final long[] ids;
+    
+    private EventTimeline(long[] keys, long[] ids) {
+        this.keys = keys;
+        this.ids = ids;
+    }
+    
+    // Constrói a partir de pares não ordenados; os arrays recebidos são reaproveitados
+    static EventTimeline of(long[] keys, long[] ids, int size) {
+        long[] k = size == keys.length ? keys : Arrays.copyOf(keys, size);
+        long[] v = size == ids.length ? ids : Arrays.copyOf(ids, size);
+        heapSort(k, v);
+        return new EventTimeline(k, v);
+    }
+    
+    int size() {
+        return keys.length;
+    }
+    
+    EventTimeline with(long key, long id) {
+        int pos = lowerBound(key, id);
+        if (pos < keys.length && keys[pos] == key && ids[pos] == id) {
+            return this;
+        }
+        long[] k = new long[keys.length + 1];
+        long[] v = new long[ids.length + 1];
+        System.arraycopy(keys, 0, k, 0, pos);
+        System.arraycopy(ids, 0, v, 0, pos);
+        k[pos] = key;
+        v[pos] = id;
+        System.arraycopy(keys, pos, k, pos + 1, keys.length - pos);
+        System.arraycopy(ids, pos, v, pos + 1, ids.length - pos);
+        return new EventTimeline(k, v);
+    }
+    
+    EventTimeline without(long key, long id) {
+        int pos = lowerBound(key, id);
+        if (pos >= keys.length || keys[pos] != key || ids[pos] != id) {
+            return this;
+        }
+        if (keys.length == 1) {
+            return EMPTY;
+        }
+        long[] k = new long[keys.length - 1];
+        long[] v = new long[ids.length - 1];
+        System.arraycopy(keys, 0, k, 0, pos);
+        System.arraycopy(ids, 0, v, 0, pos);
+        System.arraycopy(keys, pos + 1, k, pos, keys.length - pos - 1);
+        System.arraycopy(ids, pos + 1, v, pos, ids.length - pos - 1);
+        return new EventTimeline(k, v);
+    }
+    
+    // Ids com fromKey <= minuto < toKey, em ordem de (minuto, id)
+    long[] range(long fromKey, long toKey) {
+        int from = lowerBound(fromKey, Long.MIN_VALUE);
+        int to = lowerBound(toKey, Long.MIN_VALUE);
+        return to > from ? Arrays.copyOfRange(ids, from, to) : new long[0];
+    }
+    
+    long[] all() {
+        return ids.clone();
+    }
+    
+    // Cabeçalhos dos dois arrays + 16 bytes por entrada
+    long memoryBytes() {
+        return 2 * 16L + 16L * keys.length;
+    }
+    
+    private int lowerBound(long key, long id) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < key || (keys[mid] == key && ids[mid] < id)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    private static void heapSort(long[] k, long[] v) {
+        int n = k.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(k, v, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(k, v, 0, end);
+            siftDown(k, v, 0, end);
+        }
+    }
+    
+    private static void siftDown(long[] k, long[] v, int i, int n) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < n && greater(k, v, left, largest)) {
+                largest = left;
+            }
+            if (right < n && greater(k, v, right, largest)) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+            swap(k, v, i, largest);
+            i = largest;
+        }
+    }
+    
+    private static boolean greater(long[] k, long[] v, int a, int b) {
+        return k[a] > k[b] || (k[a] == k[b] && v[a] > v[b]);
+    }
+    
+    private static void swap(long[] k, long[] v, int a, int b) {
+        long tk = k[a];
+        k[a] = k[b];
+        k[b] = tk;
+        long tv = v[a];
+        v[a] = v[b];
+        v[b] = tv;
+    }
+}
@@ -0,0 +1,200 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.dto.IcsEventDTO;
+import com.eventosacademicos.model.EventOverride;
+import com.eventosacademicos.repository.EventOverrideRepository;
+import com.eventosacademicos.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Feed iCalendar (RFC 5545) do calendário de cada usuário, gravado em arquivo por versão do
+ * calendário (users.calendar_version, incrementada a cada mudança que afeta o usuário).
+ * Enquanto a versão não muda o arquivo é reaproveitado, sem consultar os eventos; numa versão
+ * nova o feed é gerado direto do cursor do banco para o arquivo e as versões antigas são apagadas.
+ * Séries recorrentes vão como um VEVENT com RRULE; ocorrências canceladas viram EXDATE e as
+ * alteradas um VEVENT próprio com o mesmo UID e RECURRENCE-ID.
+ */
+@Service
+@Timed(value = "eventos.service", histogram = true)
+public class IcsFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IcsFeedService.class);
+
+    private static final DateTimeFormatter LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    @Value("${calendar.ics.cache-dir:${java.io.tmpdir}/eventos-academicos-ics}")
+    private Path cacheDir;
+
+    // Eventos não têm fim: o DURATION é o mesmo intervalo usado na detecção de conflitos
+    @Value("${events.conflicts.slot-minutes:60}")
+    private long slotMinutes;
+
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private EventOverrideRepository eventOverrideRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public IcsFeedService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Arquivo do feed na versão informada; só gera (e abre transação) se ainda não existir
+    public Path getFeed(Long userId, long calendarVersion) throws IOException {
+        // A duração entra no nome para que uma mudança de slot-minutes não reaproveite arquivos antigos
+        Path file = cacheDir.resolve("user-" + userId + "-" + calendarVersion + "-" + slotMinutes + "m.ics");
+        if (Files.exists(file)) {
+            return file;
+        }
+
+        Files.createDirectories(cacheDir);
+        Path temp = Files.createTempFile(cacheDir, "user-" + userId + "-", ".tmp");
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> render(userId, temp));
+            // Requisições simultâneas geram cada uma o seu temporário; a troca é atômica
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        deleteOtherVersions(userId, file);
+        return file;
+    }
+
+    private void render(Long userId, Path target) {
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC);
+        // Exceções são poucas; carregadas antes de abrir o cursor dos eventos
+        Map<Long, List<EventOverride>> overrides = eventOverrideRepository.findForUserCalendar(userId).stream()
+                .collect(Collectors.groupingBy(EventOverride::getEventId));
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+             Stream<IcsEventDTO> events = eventRepository.streamIcsEventsForUser(userId)) {
+            line(writer, "BEGIN:VCALENDAR");
+            line(writer, "VERSION:2.0");
+            line(writer, "PRODID:-//Eventos Academicos//Calendario//PT");
+            line(writer, "CALSCALE:GREGORIAN");
+            line(writer, "X-WR-CALNAME:Eventos Acadêmicos");
+            for (Iterator<IcsEventDTO> it = events.iterator(); it.hasNext(); ) {
+                IcsEventDTO event = it.next();
+                List<EventOverride> eventOverrides = event.getRecurrenceRule() != null
+                        ? overrides.getOrDefault(event.getId(), List.of()) : List.of();
+                String dtstamp = event.getUpdatedAt() != null ? toUtc(event.getUpdatedAt()) : stamp;
+                
+                beginEvent(writer, event, dtstamp, event.getDate(), event.getTitle(), event.getDescription());
+                if (event.getRecurrenceRule() != null) {
+                    line(writer, "RRULE:" + event.getRecurrenceRule());
+                    for (EventOverride override : eventOverrides) {
+                        if (override.isCancelled()) {
+                            line(writer, "EXDATE:" + override.getOccurrenceDate().format(LOCAL));
+                        }
+                    }
+                }
+                line(writer, "END:VEVENT");
+                
+                for (EventOverride override : eventOverrides) {
+                    if (override.isCancelled()) {
+                        continue;
+                    }
+                    beginEvent(writer, event, dtstamp, override.getEffectiveDate(),
+                            override.getTitle() != null ? override.getTitle() : event.getTitle(),
+                            override.getDescription() != null ? override.getDescription() : event.getDescription());
+                    line(writer, "RECURRENCE-ID:" + override.getOccurrenceDate().format(LOCAL));
+                    line(writer, "END:VEVENT");
+                }
+            }
+            line(writer, "END:VCALENDAR");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    private void beginEvent(Writer writer, IcsEventDTO event, String dtstamp, LocalDateTime start,
+                            String title, String description) throws IOException {
+        line(writer, "BEGIN:VEVENT");
+        line(writer, "UID:event-" + event.getId() + "@eventos-academicos");
+        line(writer, "DTSTAMP:" + dtstamp);
+        // Horário local sem fuso ("floating"), como as datas são guardadas
+        line(writer, "DTSTART:" + start.format(LOCAL));
+        line(writer, "DURATION:" + Duration.ofMinutes(slotMinutes));
+        line(writer, "SEQUENCE:" + (event.getVersion() != null ? event.getVersion() : 0));
+        line(writer, "SUMMARY:" + escape(title));
+        if (description != null && !description.isBlank()) {
+            line(writer, "DESCRIPTION:" + escape(description));
+        }
+        line(writer, "CATEGORIES:" + event.getEventType());
+    }
+
+    private void deleteOtherVersions(Long userId, Path current) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "user-" + userId + "-*.ics")) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Não foi possível apagar feeds antigos do usuário {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private static String toUtc(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,")
+                .replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "");
+    }
+
+    // Linhas terminadas em CRLF e dobradas em até 75 octetos (continuação começa com espaço)
+    private static void line(Writer writer, String content) throws IOException {
+        int octets = 0;
+        int start = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > 75) {
+                writer.write(content, start, i - start);
+                writer.write("\r\n ");
+                start = i;
+                octets = 1;
+            }
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        writer.write(content, start, content.length() - start);
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,200 @@
+package com.eventosacademicos.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Regra de recorrência de um evento, no subconjunto da RRULE (RFC 5545) aceito pela API:
+ * FREQ=DAILY|WEEKLY|MONTHLY, INTERVAL, BYDAY (só semanal) e COUNT ou UNTIL, obrigatoriamente um dos dois.
+ * A primeira ocorrência é a data do evento; horários são locais, sem fuso, como as datas dos eventos.
+ * Uma série tem no máximo {@link #MAX_OCCURRENCES} ocorrências, para que expandir uma série
+ * inteira (ou calcular sua última ocorrência) tenha custo limitado.
+ */
+public final class RecurrenceRule {
+
+    public static final int MAX_OCCURRENCES = 1000;
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    private final List<DayOfWeek> byDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until, List<DayOfWeek> byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    /**
+     * Lê e valida a regra para uma série que começa em {@code start}. Erros de formato ou regras
+     * fora do subconjunto viram IllegalArgumentException com a mensagem para o cliente.
+     */
+    public static RecurrenceRule parse(String rule, LocalDateTime start) {
+        Map<String, String> parts = new HashMap<>();
+        for (String part : rule.trim().toUpperCase(Locale.ROOT).split(";")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0 || parts.put(part.substring(0, eq), part.substring(eq + 1)) != null) {
+                throw new IllegalArgumentException("Regra de recorrência inválida: " + rule);
+            }
+        }
+
+        Frequency frequency;
+        try {
+            frequency = Frequency.valueOf(Objects.requireNonNullElse(parts.remove("FREQ"), ""));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("FREQ deve ser DAILY, WEEKLY ou MONTHLY");
+        }
+        int interval = positive(parts.remove("INTERVAL"), "INTERVAL", 1);
+        String countValue = parts.remove("COUNT");
+        String untilValue = parts.remove("UNTIL");
+        if ((countValue == null) == (untilValue == null)) {
+            throw new IllegalArgumentException("Informe COUNT ou UNTIL na regra de recorrência");
+        }
+        Integer count = countValue != null ? positive(countValue, "COUNT", 0) : null;
+        LocalDateTime until = untilValue != null ? parseUntil(untilValue) : null;
+
+        List<DayOfWeek> byDay = List.of();
+        String byDayValue = parts.remove("BYDAY");
+        if (byDayValue != null) {
+            if (frequency != Frequency.WEEKLY) {
+                throw new IllegalArgumentException("BYDAY só é aceito com FREQ=WEEKLY");
+            }
+            SortedSet<DayOfWeek> days = new TreeSet<>();
+            for (String day : byDayValue.split(",")) {
+                DayOfWeek dayOfWeek = DAYS.get(day);
+                if (dayOfWeek == null) {
+                    throw new IllegalArgumentException("Dia inválido em BYDAY: " + day);
+                }
+                days.add(dayOfWeek);
+            }
+            if (!days.contains(start.getDayOfWeek())) {
+                throw new IllegalArgumentException("A data do evento deve cair num dos dias de BYDAY");
+            }
+            byDay = List.copyOf(days);
+        }
+        if (!parts.isEmpty()) {
+            throw new IllegalArgumentException("Parte não suportada na regra de recorrência: " + parts.keySet());
+        }
+
+        RecurrenceRule parsed = new RecurrenceRule(frequency, interval, count, until, byDay);
+        if (parsed.occurrences(start, start, LocalDateTime.MAX, 1).isEmpty()) {
+            throw new IllegalArgumentException("UNTIL anterior à data do evento");
+        }
+        if ((count != null && count > MAX_OCCURRENCES)
+                || (until != null && parsed.occurrences(start, start, until.plusNanos(1), MAX_OCCURRENCES + 1).size() > MAX_OCCURRENCES)) {
+            throw new IllegalArgumentException("Uma série pode ter no máximo " + MAX_OCCURRENCES + " ocorrências");
+        }
+        return parsed;
+    }
+
+    // Ocorrências (datas originais) em [from, to), em ordem
+    public List<LocalDateTime> between(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        return occurrences(start, from, to, MAX_OCCURRENCES);
+    }
+
+    // Início da última ocorrência da série
+    public LocalDateTime last(LocalDateTime start) {
+        List<LocalDateTime> all = occurrences(start, start, LocalDateTime.MAX, MAX_OCCURRENCES);
+        return all.get(all.size() - 1);
+    }
+
+    public boolean isOccurrence(LocalDateTime start, LocalDateTime date) {
+        return !date.isBefore(start) && occurrences(start, date, date.plusNanos(1), 1).contains(date);
+    }
+
+    /**
+     * Percorre as ocorrências desde o início (COUNT conta a partir da primeira) e devolve as que
+     * caem em [from, to), até {@code limit}. Meses sem o dia da data de início são pulados,
+     * como na RFC 5545; o mês de início sempre volta a ocorrer, então o laço termina. O corte em
+     * MAX_OCCURRENCES + 1 só é alcançado por regras que parse rejeita.
+     */
+    private List<LocalDateTime> occurrences(LocalDateTime start, LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> result = new ArrayList<>();
+        LocalTime time = start.toLocalTime();
+        LocalDate weekStart = start.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int generated = 0;
+        for (long period = 0; ; period += interval) {
+            List<LocalDateTime> candidates = new ArrayList<>(Math.max(1, byDay.size()));
+            switch (frequency) {
+                case DAILY -> candidates.add(start.plusDays(period));
+                case WEEKLY -> {
+                    if (byDay.isEmpty()) {
+                        candidates.add(start.plusWeeks(period));
+                    } else {
+                        LocalDate week = weekStart.plusWeeks(period);
+                        for (DayOfWeek day : byDay) {
+                            candidates.add(LocalDateTime.of(week.plusDays(day.getValue() - 1L), time));
+                        }
+                    }
+                }
+                case MONTHLY -> {
+                    LocalDateTime candidate = start.plusMonths(period);
+                    if (candidate.getDayOfMonth() == start.getDayOfMonth()) {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+            for (LocalDateTime candidate : candidates) {
+                if (candidate.isBefore(start)) {
+                    continue;
+                }
+                if ((count != null && generated >= count) || (until != null && candidate.isAfter(until))
+                        || !candidate.isBefore(to) || generated > MAX_OCCURRENCES) {
+                    return result;
+                }
+                generated++;
+                if (!candidate.isBefore(from)) {
+                    result.add(candidate);
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int positive(String value, String name, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // mensagem abaixo
+        }
+        throw new IllegalArgumentException(name + " deve ser um inteiro positivo");
+    }
+
+    // UNTIL em data (inclui o dia inteiro) ou data e hora locais; um Z final é ignorado
+    private static LocalDateTime parseUntil(String value) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            if (local.length() == 8) {
+                return LocalDate.parse(local, UNTIL_DATE).atTime(LocalTime.MAX);
+            }
+            return LocalDateTime.parse(local, UNTIL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL deve estar no formato AAAAMMDD ou AAAAMMDDTHHMMSS");
+        }
+    }
+}
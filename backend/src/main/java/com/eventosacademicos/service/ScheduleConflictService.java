@@ -0,0 +1,202 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.dto.ConflictingEventDTO;
+import com.eventosacademicos.dto.ScheduleConflictDTO;
+import com.eventosacademicos.model.Event;
+import com.eventosacademicos.model.EventOverride;
+import com.eventosacademicos.model.EventType;
+import com.eventosacademicos.repository.EventOverrideRepository;
+import com.eventosacademicos.repository.EventRepository;
+import com.eventosacademicos.repository.UserCalendarRepository;
+import com.eventosacademicos.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Conflitos de horário: eventos dos calendários (user_calendar) de um conjunto de usuários que se
+ * sobrepõem a um horário ou às ocorrências de uma série. Eventos não têm fim, então cada um ocupa
+ * {@code events.conflicts.slot-minutes} a partir da data (também o DURATION do feed iCalendar, em IcsFeedService).
+ *
+ * Uma consulta por faixa de datas no índice (user_id, event_date) traz os eventos de todos os usuários
+ * de uma vez, as séries encontradas são expandidas uma vez cada, e uma varredura única sobre os
+ * eventos e horários ordenados por início encontra as sobreposições.
+ *
+ * Com {@code events.conflicts.enforce} ligado, o EventService recusa criar ou remarcar eventos dos
+ * tipos em {@code events.conflicts.enforced-types}, ou incluir membros neles, quando algum usuário já
+ * tem outro evento desses tipos no mesmo horário. A verificação trava antes as linhas dos usuários
+ * (SELECT ... FOR UPDATE), então duas escritas com usuários em comum são serializadas; os métodos do
+ * EventService que chamam o bloqueio usam READ COMMITTED para que a consulta, feita depois da trava,
+ * veja o que a outra transação acabou de gravar.
+ */
+@Service
+@Timed(value = "eventos.service", histogram = true)
+public class ScheduleConflictService {
+
+    @Value("${events.conflicts.slot-minutes:60}")
+    private long slotMinutes;
+
+    @Value("${events.conflicts.enforce:false}")
+    private boolean enforce;
+
+    @Value("${events.conflicts.enforced-types:PROVA}")
+    private Set<EventType> enforcedTypes;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventOverrideRepository eventOverrideRepository;
+
+    @Autowired
+    private UserCalendarRepository userCalendarRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Conflitos de um horário, ou de todas as ocorrências da regra, com os calendários dos usuários
+    @Transactional(readOnly = true)
+    public List<ScheduleConflictDTO> findConflicts(LocalDateTime date, String recurrenceRule, Collection<Long> userIds,
+                                                   Long excludeEventId, Collection<EventType> types) {
+        List<LocalDateTime> slots = recurrenceRule == null || recurrenceRule.isBlank()
+                ? List.of(date)
+                : RecurrenceRule.parse(recurrenceRule, date).between(date, date, LocalDateTime.MAX);
+        return findConflicts(slots, userIds, excludeEventId, types);
+    }
+
+    // Conflitos do evento (todas as ocorrências, se for série) com os calendários do organizador e dos membros
+    @Transactional(readOnly = true)
+    public List<ScheduleConflictDTO> findConflictsForEvent(Long eventId, Collection<EventType> types) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Evento não encontrado"));
+        return findConflicts(slotsOf(event), userCalendarRepository.findUserIdsByEventId(eventId), eventId, types);
+    }
+
+    public boolean isEnforced(EventType eventType) {
+        return enforce && enforcedTypes.contains(eventType);
+    }
+
+    // Modo de bloqueio: falha se algum dos usuários já tem, num dos horários do evento, outro evento bloqueado
+    public void enforce(Event event, Collection<Long> userIds) {
+        if (isEnforced(event.getEventType())) {
+            enforce(event, slotsOf(event), userIds);
+        }
+    }
+
+    // Bloqueio para membros incluídos num evento existente; só carrega o evento com o modo ligado
+    public void enforce(Long eventId, Collection<Long> userIds) {
+        if (enforce) {
+            eventRepository.findById(eventId).ifPresent(event -> enforce(event, userIds));
+        }
+    }
+
+    // Bloqueio para um evento remarcado: todos os usuários que o têm no calendário
+    public void enforceForCalendar(Event event) {
+        if (isEnforced(event.getEventType())) {
+            enforce(event, slotsOf(event), userCalendarRepository.findUserIdsByEventId(event.getId()));
+        }
+    }
+
+    // Bloqueio para uma ocorrência remarcada: só o novo horário
+    public void enforceOccurrence(Event event, LocalDateTime date) {
+        if (isEnforced(event.getEventType())) {
+            enforce(event, List.of(date), userCalendarRepository.findUserIdsByEventId(event.getId()));
+        }
+    }
+
+    private void enforce(Event event, List<LocalDateTime> slots, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.lockByIdIn(new TreeSet<>(userIds));
+        List<ScheduleConflictDTO> conflicts = findConflicts(slots, userIds, event.getId(), enforcedTypes);
+        if (!conflicts.isEmpty()) {
+            ScheduleConflictDTO first = conflicts.get(0);
+            ConflictingEventDTO clash = first.getEvents().get(0);
+            throw new RuntimeException("Conflito de horário para " + conflicts.size() + " usuário(s): o usuário "
+                    + first.getUserId() + " já tem o evento " + clash.getId() + " em " + clash.getDate());
+        }
+    }
+
+    // Horários ocupados pelo evento: a data ou as ocorrências da série, com as exceções já gravadas
+    private List<LocalDateTime> slotsOf(Event event) {
+        if (event.getRecurrenceRule() == null) {
+            return List.of(event.getDate());
+        }
+        List<EventOverride> overrides = event.getId() != null
+                ? eventOverrideRepository.findByEventIdIn(List.of(event.getId())) : List.of();
+        return EventService.occurrences(event.getDate(), event.getRecurrenceRule(), overrides, event.getDate(), LocalDateTime.MAX)
+                .stream().map(EventService.Occurrence::date).toList();
+    }
+
+    List<ScheduleConflictDTO> findConflicts(List<LocalDateTime> slots, Collection<Long> userIds,
+                                            Long excludeEventId, Collection<EventType> types) {
+        if (slots.isEmpty() || userIds.isEmpty()) {
+            return List.of();
+        }
+        Duration slot = Duration.ofMinutes(slotMinutes);
+        List<LocalDateTime> sorted = slots.stream().sorted().toList();
+        // Eventos que começam até um horário antes do primeiro slot ainda podem se sobrepor a ele
+        LocalDateTime from = sorted.get(0).minus(slot).plusNanos(1);
+        LocalDateTime to = sorted.get(sorted.size() - 1).plus(slot);
+        Set<Long> users = new HashSet<>(userIds);
+        Collection<EventType> eventTypes = types == null || types.isEmpty() ? EnumSet.allOf(EventType.class) : types;
+
+        List<ConflictingEventDTO> candidates = new ArrayList<>(eventRepository.findConflictCandidates(users, from, to, eventTypes));
+        candidates.addAll(expandSeries(eventRepository.findConflictSeries(users, from, to, eventTypes), from, to));
+        candidates.removeIf(candidate -> candidate.getId().equals(excludeEventId));
+        candidates.sort(Comparator.comparing(ConflictingEventDTO::getDate));
+
+        // Varredura: slots têm a mesma duração, então os que terminam antes do início de um evento
+        // não se sobrepõem a nenhum evento seguinte; o primeiro restante é o único candidato a conflito
+        Map<Long, List<ConflictingEventDTO>> byUser = new TreeMap<>();
+        int next = 0;
+        for (ConflictingEventDTO candidate : candidates) {
+            while (next < sorted.size() && !sorted.get(next).plus(slot).isAfter(candidate.getDate())) {
+                next++;
+            }
+            if (next == sorted.size()) {
+                break;
+            }
+            if (sorted.get(next).isBefore(candidate.getDate().plus(slot))) {
+                byUser.computeIfAbsent(candidate.getUserId(), k -> new ArrayList<>()).add(candidate.withConflict(sorted.get(next)));
+            }
+        }
+        return byUser.entrySet().stream()
+                .map(entry -> new ScheduleConflictDTO(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    // Uma linha por (usuário, série): cada série é expandida uma vez e suas ocorrências copiadas por usuário
+    private List<ConflictingEventDTO> expandSeries(List<ConflictingEventDTO> rows, LocalDateTime from, LocalDateTime to) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ConflictingEventDTO>> bySeries = rows.stream()
+                .collect(Collectors.groupingBy(ConflictingEventDTO::getId));
+        Map<Long, List<EventOverride>> overrides = eventOverrideRepository.findByEventIdIn(bySeries.keySet()).stream()
+                .collect(Collectors.groupingBy(EventOverride::getEventId));
+
+        List<ConflictingEventDTO> result = new ArrayList<>();
+        for (List<ConflictingEventDTO> seriesRows : bySeries.values()) {
+            ConflictingEventDTO series = seriesRows.get(0);
+            List<EventService.Occurrence> occurrences = EventService.occurrences(series.getDate(), series.getRecurrenceRule(),
+                    overrides.getOrDefault(series.getId(), List.of()), from, to);
+            for (EventService.Occurrence occurrence : occurrences) {
+                String title = occurrence.override() != null && occurrence.override().getTitle() != null
+                        ? occurrence.override().getTitle() : series.getTitle();
+                for (ConflictingEventDTO row : seriesRows) {
+                    result.add(row.toOccurrence(occurrence.occurrenceDate(), occurrence.date(), title));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.dto.CalendarConsistencyDTO;
+import com.eventosacademicos.repository.CalendarTombstoneRepository;
+import com.eventosacademicos.repository.EventRepository;
+import com.eventosacademicos.repository.UserCalendarRepository;
+import com.eventosacademicos.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantém a tabela user_calendar, o calendário de cada usuário já desnormalizado,
+ * a versão do calendário de cada usuário afetado (users.calendar_version, usada como ETag) e as
+ * sequências e tombstones da sincronização por delta (ver CalendarChangeService).
+ * Chamado pelo EventService dentro da mesma transação de cada escrita em events/event_members.
+ */
+@Service
+public class UserCalendarService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserCalendarService.class);
+    
+    @Autowired
+    private UserCalendarRepository userCalendarRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private CalendarTombstoneRepository tombstoneRepository;
+    
+    @Autowired
+    private CalendarChangeService calendarChangeService;
+    
+    public void onEventCreated(Long eventId) {
+        long changeId = calendarChangeService.currentChange();
+        userCalendarRepository.insertForEvent(eventId, changeId);
+        eventRepository.markChanged(eventId, changeId);
+        userRepository.incrementCalendarVersionsForEvent(eventId);
+    }
+    
+    // Título, tipo ou descrição alterados: o conteúdo do calendário de todos os participantes muda
+    public void onEventUpdated(Long eventId) {
+        eventRepository.markChanged(eventId, calendarChangeService.currentChange());
+        userRepository.incrementCalendarVersionsForEvent(eventId);
+    }
+    
+    public void onEventRescheduled(Long eventId, LocalDateTime date) {
+        userCalendarRepository.updateEventDate(eventId, date);
+    }
+    
+    // As versões e os tombstones são gravados antes das remoções, enquanto as linhas ainda existem
+    public void onEventDeleted(Long eventId) {
+        tombstoneRepository.insertForEvent(eventId, calendarChangeService.currentChange(), LocalDateTime.now());
+        userRepository.incrementCalendarVersionsForEvent(eventId);
+        userCalendarRepository.deleteByEventId(eventId);
+    }
+    
+    // A contagem de membros aparece no feed, então todos os participantes são afetados
+    public void onMembersAdded(Long eventId, Collection<Long> userIds) {
+        long changeId = calendarChangeService.currentChange();
+        userCalendarRepository.insertMembers(eventId, userIds, changeId);
+        eventRepository.markChanged(eventId, changeId);
+        userRepository.incrementCalendarVersionsForEvent(eventId);
+    }
+    
+    public void onMembersRemoved(Long eventId, Collection<Long> userIds) {
+        long changeId = calendarChangeService.currentChange();
+        tombstoneRepository.insertForMembers(eventId, userIds, changeId, LocalDateTime.now());
+        eventRepository.markChanged(eventId, changeId);
+        userRepository.incrementCalendarVersionsForEvent(eventId);
+        userCalendarRepository.deleteMembers(eventId, userIds);
+    }
+    
+    public void onMembersReplaced(Long eventId, Collection<Long> userIds) {
+        long changeId = calendarChangeService.currentChange();
+        eventRepository.markChanged(eventId, changeId);
+        userRepository.incrementCalendarVersionsForEvent(eventId);
+        if (userIds.isEmpty()) {
+            tombstoneRepository.insertForAllMembers(eventId, changeId, LocalDateTime.now());
+            userCalendarRepository.deleteAllMembers(eventId);
+        } else {
+            tombstoneRepository.insertForMembersNotIn(eventId, userIds, changeId, LocalDateTime.now());
+            userCalendarRepository.deleteMembersNotIn(eventId, userIds);
+            userCalendarRepository.insertMembers(eventId, userIds, changeId);
+            userRepository.incrementCalendarVersions(userIds);
+        }
+    }
+    
+    // Antes de excluir um usuário: seus eventos e participações somem do calendário dos demais
+    public void onUserDeleted(Long userId) {
+        long changeId = calendarChangeService.currentChange();
+        tombstoneRepository.insertForEventsOrganizedBy(userId, changeId, LocalDateTime.now());
+        eventRepository.markChangedWithMember(userId, changeId);
+        userRepository.incrementCalendarVersionsSharingWith(userId);
+    }
+    
+    // Entradas apagadas sem tombstone: todos os tokens anteriores passam a exigir sincronização completa
+    @Transactional
+    public int rebuildAll() {
+        long changeId = calendarChangeService.currentChange();
+        userCalendarRepository.deleteAllEntries();
+        int inserted = userCalendarRepository.insertAllEntries(changeId);
+        userRepository.incrementAllCalendarVersions();
+        calendarChangeService.invalidateTokens();
+        logger.info("Calendário reconstruído: {} entradas", inserted);
+        return inserted;
+    }
+    
+    @Transactional
+    public int rebuildForUser(Long userId) {
+        long changeId = calendarChangeService.currentChange();
+        tombstoneRepository.insertForUser(userId, changeId, LocalDateTime.now());
+        userCalendarRepository.deleteByUserId(userId);
+        int inserted = userCalendarRepository.insertForUser(userId, changeId);
+        userRepository.incrementCalendarVersions(List.of(userId));
+        return inserted;
+    }
+    
+    @Transactional(readOnly = true)
+    public CalendarConsistencyDTO checkConsistency() {
+        return new CalendarConsistencyDTO(
+                userCalendarRepository.countMissingEntries(),
+                userCalendarRepository.countOrphanEntries(),
+                userCalendarRepository.countStaleEntries()
+        );
+    }
+    
+    @Scheduled(cron = "${calendar.consistency-check.cron:0 30 4 * * *}")
+    public void scheduledConsistencyCheck() {
+        CalendarConsistencyDTO result = checkConsistency();
+        if (!result.isConsistent()) {
+            logger.warn("user_calendar inconsistente: {} faltando, {} órfãs, {} com data desatualizada. " +
+                        "Use POST /api/admin/calendar/rebuild para reconstruir.",
+                        result.getMissing(), result.getOrphan(), result.getStale());
+        }
+    }
+}
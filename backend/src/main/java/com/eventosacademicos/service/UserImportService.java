@@ -0,0 +1,315 @@
+package com.eventosacademicos.service;
+
+import com.eventosacademicos.dto.RegisterRequest;
+import com.eventosacademicos.dto.UserImportResultDTO;
+import com.eventosacademicos.model.UserType;
+import com.eventosacademicos.repository.UserRepository;
+import com.eventosacademicos.security.PasswordHasher;
+import com.eventosacademicos.security.TokenEpochRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de usuários em lote (CSV ou NDJSON), lida em streaming e gravada em blocos de
+ * {@link #CHUNK_SIZE} linhas. Cada bloco faz uma consulta de unicidade por chave, gera os hashes
+ * em paralelo ({@link PasswordHasher#encodeAll}) e insere tudo num batch JDBC, numa transação
+ * própria: com id IDENTITY o Hibernate não agrupa INSERTs. Linhas inválidas ou repetidas são
+ * reportadas uma a uma e não impedem a importação das demais.
+ */
+@Service
+@Timed(value = "eventos.service", histogram = true)
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("username", "email", "phone", "password", "registrationnumber", "usertype");
+
+    public enum Format { CSV, NDJSON }
+
+    private record Row(long line, RegisterRequest request) {}
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate chunkTransaction;
+
+    public UserImportService(PlatformTransactionManager transactionManager) {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importa o arquivo em blocos de CHUNK_SIZE, cada um na sua transação. Se a leitura ou a gravação
+     * falhar no meio, os blocos já confirmados ficam e o resultado volta com abortedAtLine/abortMessage,
+     * em vez de uma exceção que esconderia o que foi importado.
+     */
+    public UserImportResultDTO importUsers(Reader input, Format format, boolean approved) {
+        long start = System.nanoTime();
+        UserImportResultDTO result = new UserImportResultDTO();
+        BufferedReader reader = new BufferedReader(input);
+
+        long lineNumber = 0;
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        try {
+            int[] columns = null;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                if (header == null) {
+                    return result;
+                }
+                lineNumber++;
+                columns = parseHeader(header);
+            }
+
+            // Chaves já vistas no arquivo, em minúsculas como na collation do MySQL
+            Set<String> usernames = new HashSet<>();
+            Set<String> emails = new HashSet<>();
+            Set<String> registrationNumbers = new HashSet<>();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                RegisterRequest request;
+                try {
+                    request = format == Format.CSV ? parseCsvRow(line, columns) : parseJsonRow(line);
+                } catch (IllegalArgumentException e) {
+                    result.addError(lineNumber, null, e.getMessage());
+                    continue;
+                }
+
+                String error = validate(request);
+                if (error == null && !usernames.add(lower(request.getUsername()))) {
+                    error = "Nome de usuário repetido no arquivo";
+                } else if (error == null && !emails.add(lower(request.getEmail()))) {
+                    error = "Email repetido no arquivo";
+                } else if (error == null && !registrationNumbers.add(lower(request.getRegistrationNumber()))) {
+                    error = "Número de matrícula repetido no arquivo";
+                }
+                if (error != null) {
+                    result.addError(lineNumber, request.getUsername(), error);
+                    continue;
+                }
+
+                chunk.add(new Row(lineNumber, request));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, approved, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, approved, result);
+                chunk.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Nada do bloco pendente foi gravado: a importação parou na primeira linha dele
+            long abortedAt = chunk.isEmpty() ? lineNumber : chunk.get(0).line();
+            String message = e instanceof IOException ? "Erro ao ler o arquivo: " + e.getMessage()
+                    : e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            result.abort(abortedAt, message);
+            logger.warn("Importação de usuários interrompida na linha {} ({} já importados): {}",
+                    abortedAt, result.getImported(), message);
+        }
+
+        result.getErrors().sort(Comparator.comparingLong(UserImportResultDTO.RowError::getLine));
+        logger.info("Importação de usuários: {} importados, {} com erro em {} ms",
+                result.getImported(), result.getFailed(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void importChunk(List<Row> chunk, boolean approved, UserImportResultDTO result) {
+        Set<String> existingUsernames = lowerSet(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.request().getUsername()).toList()));
+        Set<String> existingEmails = lowerSet(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.request().getEmail()).toList()));
+        Set<String> existingRegistrationNumbers = lowerSet(userRepository.findExistingRegistrationNumbers(
+                chunk.stream().map(row -> row.request().getRegistrationNumber()).toList()));
+
+        // Mesmas mensagens de UserService.createUser
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            RegisterRequest request = row.request();
+            if (existingUsernames.contains(lower(request.getUsername()))) {
+                result.addError(row.line(), request.getUsername(), "Nome de usuário já existe");
+            } else if (existingEmails.contains(lower(request.getEmail()))) {
+                result.addError(row.line(), request.getUsername(), "Email já existe");
+            } else if (existingRegistrationNumbers.contains(lower(request.getRegistrationNumber()))) {
+                result.addError(row.line(), request.getUsername(), "Número de matrícula já existe");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordHasher.encodeAll(rows.stream().map(row -> row.request().getPassword()).toList());
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                insertBatch(rows, hashes, approved);
+                List<String> inserted = rows.stream().map(row -> row.request().getUsername()).toList();
+                for (Object[] epoch : userRepository.findTokenEpochsByUsernameIn(inserted)) {
+                    tokenEpochRegistry.update((Long) epoch[0], (Integer) epoch[1]);
+                }
+            });
+            result.addImported(rows.size());
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            // Outro cadastro com a mesma chave entre a checagem e o INSERT: o bloco inteiro é desfeito
+            logger.warn("Bloco da importação de usuários desfeito: {}", e.getMessage());
+            for (Row row : rows) {
+                result.addError(row.line(), row.request().getUsername(), "Conflito com cadastro simultâneo; importe a linha de novo");
+            }
+        }
+    }
+
+    private void insertBatch(List<Row> rows, List<String> hashes, boolean approved) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO users (username, email, phone, password, registration_number, user_type, approved, " +
+                    "token_epoch, calendar_version) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0)")) {
+                for (int i = 0; i < rows.size(); i++) {
+                    RegisterRequest request = rows.get(i).request();
+                    statement.setString(1, request.getUsername());
+                    statement.setString(2, request.getEmail());
+                    statement.setString(3, request.getPhone());
+                    statement.setString(4, hashes.get(i));
+                    statement.setString(5, request.getRegistrationNumber());
+                    statement.setString(6, request.getUserType().name());
+                    statement.setBoolean(7, approved);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    private String validate(RegisterRequest request) {
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    // Posição de cada coluna esperada no cabeçalho; aceita registrationNumber ou registration_number
+    private static int[] parseHeader(String header) {
+        List<String> names = splitCsv(header).stream()
+                .map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                .toList();
+        int[] columns = new int[CSV_COLUMNS.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                missing.add(CSV_COLUMNS.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Colunas obrigatórias ausentes no CSV: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static RegisterRequest parseCsvRow(String line, int[] columns) {
+        List<String> fields = splitCsv(line);
+        Function<Integer, String> field = column ->
+                columns[column] < fields.size() ? fields.get(columns[column]).trim() : null;
+        RegisterRequest request = new RegisterRequest(field.apply(0), field.apply(1), field.apply(2),
+                field.apply(3), field.apply(4), null);
+        String userType = field.apply(5);
+        if (userType != null && !userType.isEmpty()) {
+            try {
+                request.setUserType(UserType.valueOf(userType.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de usuário inválido: " + userType);
+            }
+        }
+        return request;
+    }
+
+    private RegisterRequest parseJsonRow(String line) {
+        try {
+            return objectMapper.readValue(line, RegisterRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    // Campos separados por vírgula; aspas duplas delimitam campos com vírgula ("" é uma aspa)
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String lower(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> lowerSet(Collection<String> values) {
+        return values.stream().map(UserImportService::lower).collect(Collectors.toSet());
+    }
+}
@@ -1,31 +1,90 @@
 package com.eventosacademicos.service;
 
+import com.eventosacademicos.dto.KeysetPage;
+import com.eventosacademicos.dto.UserDTO;
 import com.eventosacademicos.model.User;
 import com.eventosacademicos.model.UserType;
+import com.eventosacademicos.repository.EventMemberRepository;
+import com.eventosacademicos.repository.EventRepository;
 import com.eventosacademicos.repository.UserRepository;
 import com.eventosacademicos.security.CustomUserDetails;
+import com.eventosacademicos.security.PasswordHasher;
+import com.eventosacademicos.security.PasswordHasherBusyException;
+import com.eventosacademicos.security.TokenEpochRegistry;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "eventos.service", histogram = true)
 public class UserService implements UserDetailsService {
     
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final SecureRandom FEED_TOKEN_RANDOM = new SecureRandom();
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private UserCalendarService userCalendarService;
+    
+    @Autowired
+    private EventListCache eventListCache;
+    
+    @Autowired
+    private EventMemberRepository eventMemberRepository;
+    
+    @Autowired
+    private CalendarPushService calendarPushService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Hash de referência para logins de usuários inexistentes, gerado no primeiro uso
+    private volatile String dummyHash;
     
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
@@ -34,15 +93,71 @@ public class UserService implements UserDetailsService {
             throw new UsernameNotFoundException("Usuário não aprovado: " + username);
         }
         
+        return toUserDetails(user);
+    }
+    
+    /**
+     * Login com uma única consulta ao usuário. Sem @Transactional de propósito: a conexão volta
+     * ao pool logo após o findByUsername e o BCrypt roda no PasswordHasher sem segurar conexão.
+     * Usuário inexistente ou não aprovado também paga uma verificação, como no DaoAuthenticationProvider,
+     * para o tempo de resposta não revelar quais nomes existem.
+     */
+    public CustomUserDetails authenticate(String username, String password) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        
+        if (user == null || !user.isApproved()) {
+            passwordHasher.matches(password, dummyHash());
+            throw new BadCredentialsException("Credenciais inválidas");
+        }
+        if (!passwordHasher.matches(password, user.getPassword())) {
+            throw new BadCredentialsException("Credenciais inválidas");
+        }
+        
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            try {
+                userRepository.updatePasswordHash(user.getId(), user.getPassword(), passwordHasher.encode(password));
+            } catch (PasswordHasherBusyException e) {
+                // Sob carga a regravação fica para o próximo login
+            }
+        }
+        return toUserDetails(user);
+    }
+    
+    private String dummyHash() {
+        if (dummyHash == null) {
+            dummyHash = passwordHasher.encode("senha-inexistente");
+        }
+        return dummyHash;
+    }
+    
+    private CustomUserDetails toUserDetails(User user) {
         return new CustomUserDetails(
                 user.getId(),
                 user.getUsername(),
                 user.getPassword(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getUserType().name())),
-                user.isApproved()
+                user.isApproved(),
+                user.getUserType(),
+                user.getTokenEpoch()
         );
     }
     
+    /**
+     * Cria uma referência ao usuário autenticado a partir das claims do token,
+     * sem consultar o banco. Suficiente para checagens de permissão e para
+     * associar o usuário como chave estrangeira.
+     */
+    public User toUserReference(CustomUserDetails userDetails) {
+        User user = new User();
+        user.setId(userDetails.getId());
+        user.setUsername(userDetails.getUsername());
+        user.setUserType(userDetails.getUserType());
+        user.setApproved(userDetails.isEnabled());
+        user.setTokenEpoch(userDetails.getTokenEpoch());
+        return user;
+    }
+    
+    @Transactional
     public User createUser(User user) {
         // Verificar se username, email ou matrícula já existem
         if (userRepository.existsByUsername(user.getUsername())) {
@@ -56,46 +171,89 @@ public class UserService implements UserDetailsService {
         }
         
         // Criptografar senha
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHasher.encode(user.getPassword()));
         
         // Usuário criado como não aprovado por padrão
         user.setApproved(false);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        tokenEpochRegistry.update(savedUser.getId(), savedUser.getTokenEpoch());
+        return savedUser;
     }
     
+    @Transactional
     public User approveUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
         
         user.setApproved(true);
-        return userRepository.save(user);
+        return saveWithNewTokenEpoch(user);
+    }
+    
+    // Um único UPDATE para todos os ids; usuários já aprovados ficam como estão
+    @Transactional
+    public int approveUsers(Collection<Long> userIds) {
+        Set<Long> ids = new LinkedHashSet<>(userIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int approved = userRepository.approveAll(ids);
+        for (Object[] row : userRepository.findTokenEpochsByIdIn(ids)) {
+            tokenEpochRegistry.update((Long) row[0], (Integer) row[1]);
+        }
+        return approved;
     }
     
+    @Transactional(readOnly = true)
     public List<User> getUsersByType(UserType userType) {
         return userRepository.findByUserType(userType);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getPendingUsers() {
         return userRepository.findByApproved(false);
     }
     
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public KeysetPage<UserDTO> getUsersPage(Long after, Integer limit) {
+        Slice<User> slice = userRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, KeysetPage.limit(limit));
+        return KeysetPage.from(slice, User::getId, UserDTO::fromEntity);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserDTO> consumer) {
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            int count = 0;
+            for (Iterator<User> it = users.iterator(); it.hasNext(); ) {
+                consumer.accept(UserDTO.fromEntity(it.next()));
+                if (++count % STREAM_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+    
+    @Transactional(readOnly = true)
     public List<User> getAllApprovedUsers() {
         return userRepository.findByApproved(true);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -112,26 +270,99 @@ public class UserService implements UserDetailsService {
             user.setPhone(userDetails.getPhone());
         }
         
+        // Troca de senha revoga as sessões abertas e o token do feed; os demais campos não estão no token
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
-            user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+            user.setPassword(passwordHasher.encode(userDetails.getPassword()));
+            user.setFeedTokenHash(null);
+            return saveWithNewTokenEpoch(user);
         }
         
         return userRepository.save(user);
     }
     
+    @Transactional
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("Usuário não encontrado");
         }
+        // Eventos organizados (excluídos em cascata) e eventos dos quais participava, lidos antes da exclusão
+        List<Long> organizedIds = eventRepository.findIdsByCreatedById(id);
+        List<Long> memberOfIds = eventMemberRepository.findEventIdsByUserId(id);
+        List<EventChangedEvent> changes = new ArrayList<>();
+        for (Long eventId : organizedIds) {
+            changes.add(new EventChangedEvent(eventId, EventChangedEvent.Type.DELETED, null,
+                    calendarPushService.snapshotAudience(eventId)));
+        }
+        for (Long eventId : memberOfIds) {
+            if (!organizedIds.contains(eventId)) {
+                changes.add(new EventChangedEvent(eventId, EventChangedEvent.Type.MEMBERS_REMOVED, List.of(id)));
+            }
+        }
+        
+        // Os eventos dos quais participava perdem um membro: invalida os ETags antes da exclusão
+        userCalendarService.onUserDeleted(id);
+        eventRepository.touchEventsWithMember(id, LocalDateTime.now());
+        eventListCache.invalidateAfterCommit();
         userRepository.deleteById(id);
+        tokenEpochRegistry.remove(id);
+        // Índice em memória, canal SSE e listas em cache recebem as mudanças após o commit
+        changes.forEach(eventPublisher::publishEvent);
+    }
+    
+    /**
+     * Emite o token do feed iCalendar, substituindo (e revogando) o anterior. O token vale só em
+     * /api/events/feed.ics, não expira e só é devolvido aqui: o banco guarda o SHA-256.
+     */
+    @Transactional
+    public String issueFeedToken(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        byte[] bytes = new byte[32];
+        FEED_TOKEN_RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        user.setFeedTokenHash(hashFeedToken(token));
+        userRepository.save(user);
+        return token;
+    }
+    
+    @Transactional
+    public void revokeFeedToken(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        user.setFeedTokenHash(null);
+        userRepository.save(user);
+    }
+    
+    // Usuário dono do token do feed, se o token existir e o usuário estiver aprovado
+    @Transactional(readOnly = true)
+    public Optional<CustomUserDetails> findByFeedToken(String token) {
+        return userRepository.findByFeedTokenHash(hashFeedToken(token))
+                .filter(User::isApproved)
+                .map(this::toUserDetails);
+    }
+    
+    private static String hashFeedToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private User saveWithNewTokenEpoch(User user) {
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
+        User savedUser = userRepository.save(user);
+        tokenEpochRegistry.update(savedUser.getId(), savedUser.getTokenEpoch());
+        return savedUser;
     }
     
     public boolean validateCredentials(String username, String password) {
-        Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            return user.isApproved() && passwordEncoder.matches(password, user.getPassword());
+        try {
+            authenticate(username, password);
+            return true;
+        } catch (BadCredentialsException e) {
+            return false;
         }
-        return false;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- Bancos já existentes são marcados nesta versão (baseline-on-migrate) e não executam este script.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    registration_number VARCHAR(255) NOT NULL,
+    user_type ENUM('ALUNO', 'PROFESSOR', 'ADMINISTRADOR') NOT NULL,
+    approved BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_registration_number UNIQUE (registration_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    event_type ENUM('PROVA', 'TRABALHO', 'FESTA', 'REUNIAO', 'OUTRO') NOT NULL,
+    date DATETIME(6) NOT NULL,
+    created_by BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_events_created_by FOREIGN KEY (created_by) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS event_members (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_event_members_event FOREIGN KEY (event_id) REFERENCES events (id),
+    CONSTRAINT fk_event_members_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
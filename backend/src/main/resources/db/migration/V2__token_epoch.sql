@@ -0,0 +1,11 @@
+-- Época dos tokens JWT por usuário (revogação). A coluna pode já existir em bancos
+-- atualizados pelo Hibernate antes da adoção do Flyway, por isso a checagem.
+
+SET @has_column := (SELECT COUNT(*) FROM information_schema.columns
+                    WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'token_epoch');
+SET @ddl := IF(@has_column = 0,
+               'ALTER TABLE users ADD COLUMN token_epoch INT NOT NULL DEFAULT 0',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
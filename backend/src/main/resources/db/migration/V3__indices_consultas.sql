@@ -0,0 +1,25 @@
+-- Índices alinhados às consultas dos repositórios. Ver backend/INDICES.md para o EXPLAIN de cada uma.
+
+-- Remove associações duplicadas antes de tornar (event_id, user_id) único
+DELETE em1 FROM event_members em1
+    JOIN event_members em2
+      ON em1.event_id = em2.event_id AND em1.user_id = em2.user_id AND em1.id > em2.id;
+
+-- existsByEventAndUser, findByEventAndUser, deleteByEventAndUser, findWithUserByEventId
+CREATE UNIQUE INDEX uk_event_members_event_user ON event_members (event_id, user_id);
+
+-- Subconsulta de findEventsForUser / findCalendarFeedForUser (em.user_id = ?), coberta por (user_id, event_id)
+CREATE INDEX idx_event_members_user_event ON event_members (user_id, event_id);
+
+-- findByDateBetween e janelas do feed do calendário
+CREATE INDEX idx_events_date ON events (date);
+
+-- findByEventType, findAcademicEvents, findPartyEvents (filtro por tipo, ordenado por data)
+CREATE INDEX idx_events_type_date ON events (event_type, date);
+
+-- findByCreatedBy e ramo "organizador" de findEventsForUser / findCalendarFeedForUser
+CREATE INDEX idx_events_created_by_date ON events (created_by, date);
+
+-- findByUserType, findByApproved
+CREATE INDEX idx_users_user_type ON users (user_type);
+CREATE INDEX idx_users_approved ON users (approved);
@@ -0,0 +1,22 @@
+-- Modelo de leitura do calendário por usuário (fan-out na escrita).
+-- Uma linha por (usuário, evento) para o organizador e cada membro; o feed vira
+-- uma varredura de intervalo em (user_id, event_date).
+
+CREATE TABLE user_calendar (
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    event_date DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, event_id),
+    CONSTRAINT fk_user_calendar_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_user_calendar_event FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_user_calendar_user_date ON user_calendar (user_id, event_date, event_id);
+CREATE INDEX idx_user_calendar_event ON user_calendar (event_id);
+
+-- Carga inicial a partir dos dados existentes
+INSERT IGNORE INTO user_calendar (user_id, event_id, event_date)
+SELECT e.created_by, e.id, e.date FROM events e;
+
+INSERT IGNORE INTO user_calendar (user_id, event_id, event_date)
+SELECT em.user_id, e.id, e.date FROM event_members em JOIN events e ON e.id = em.event_id;
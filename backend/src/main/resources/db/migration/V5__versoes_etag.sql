@@ -0,0 +1,12 @@
+-- Versões usadas nos ETags das respostas de eventos e do calendário de cada usuário.
+-- events.version é a versão otimista do Hibernate (@Version); updated_at é preenchida
+-- com o instante da migração para os eventos já existentes.
+
+ALTER TABLE events
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at DATETIME(6) NULL;
+
+UPDATE events SET updated_at = CURRENT_TIMESTAMP(6) WHERE updated_at IS NULL;
+
+ALTER TABLE users
+    ADD COLUMN calendar_version BIGINT NOT NULL DEFAULT 0;
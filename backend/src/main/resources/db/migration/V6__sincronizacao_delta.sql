@@ -0,0 +1,41 @@
+-- Sincronização por delta (GET /api/events/changes?since=<token>).
+-- Cada transação de escrita no calendário cria uma linha em calendar_changes e marca com ela o evento
+-- alterado (events.change_id), as entradas novas de user_calendar e os tombstones das remoções.
+-- A sequência (calendar_changes.seq) só é atribuída imediatamente antes do commit, com a linha única
+-- de calendar_change_sequence travada: as sequências ficam visíveis na ordem em que foram geradas.
+
+CREATE TABLE calendar_change_sequence (
+    id INT NOT NULL,
+    current_seq BIGINT NOT NULL,
+    compacted_seq BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO calendar_change_sequence (id, current_seq, compacted_seq) VALUES (1, 0, 0);
+
+CREATE TABLE calendar_changes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    seq BIGINT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+ALTER TABLE events
+    ADD COLUMN change_id BIGINT NULL;
+
+ALTER TABLE user_calendar
+    ADD COLUMN change_id BIGINT NULL;
+
+CREATE TABLE calendar_tombstones (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    reason VARCHAR(32) NOT NULL,
+    change_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_calendar_tombstones_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Remoções de um usuário e compactação por data
+CREATE INDEX idx_calendar_tombstones_user_change ON calendar_tombstones (user_id, change_id);
+CREATE INDEX idx_calendar_tombstones_created ON calendar_tombstones (created_at);
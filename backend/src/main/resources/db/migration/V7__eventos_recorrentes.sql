@@ -0,0 +1,25 @@
+-- Eventos recorrentes: a regra (subconjunto da RRULE da RFC 5545) fica no próprio evento e as
+-- ocorrências são expandidas só dentro da janela consultada; membros e user_calendar continuam
+-- com uma linha por série. recurrence_end é o início da última ocorrência (incluindo as remarcadas),
+-- para que as consultas por intervalo descartem as séries encerradas sem expandi-las.
+
+ALTER TABLE events
+    ADD COLUMN recurrence_rule VARCHAR(255) NULL,
+    ADD COLUMN recurrence_end DATETIME(6) NULL;
+
+-- Séries que alcançam uma janela: recurrence_end >= início e date < fim
+CREATE INDEX idx_events_recurrence_end ON events (recurrence_end, date);
+
+-- Ocorrências canceladas ou alteradas, identificadas pela data original
+CREATE TABLE event_overrides (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    event_id BIGINT NOT NULL,
+    occurrence_date DATETIME(6) NOT NULL,
+    cancelled BIT NOT NULL,
+    title VARCHAR(255) NULL,
+    description TEXT NULL,
+    date DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_event_overrides_occurrence UNIQUE (event_id, occurrence_date),
+    CONSTRAINT fk_event_overrides_event FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Token do feed iCalendar: aleatório, de longa duração e válido só em /api/events/feed.ics.
+-- Guarda-se apenas o SHA-256 (hex); um novo token substitui o anterior e NULL revoga o feed.
+
+ALTER TABLE users
+    ADD COLUMN feed_token_hash VARCHAR(64) NULL,
+    ADD CONSTRAINT uk_users_feed_token UNIQUE (feed_token_hash);